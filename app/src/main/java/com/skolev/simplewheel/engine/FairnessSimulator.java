@@ -0,0 +1,291 @@
+package com.skolev.simplewheel.engine;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Headless check of the outcome distribution. Every simulated spin draws the win from the
+ * generator behind {@link OutcomeSources#fast()}, the default of {@code SimpleWheelView},
+ * and maps it through {@link WheelEngine#setWin(int)} and {@link WheelEngine#getStopSector()},
+ * so the histogram is the one the listener would see. Weighted layouts draw through
+ * {@link SectorLayout#pick(OutcomeSource)} and are tested against their weights. The delayed
+ * {@code postDelayed} timing does not take part in the draw and is not simulated.
+ * <p>
+ * Spins are split into fixed blocks that are spread over a fork-join pool. Each block owns its
+ * generator, seeded from the run seed and the block index, so a seed reproduces the same counts
+ * on any number of cores.
+ */
+public final class FairnessSimulator {
+
+    private static final long BLOCK_SPINS = 1 << 20;
+
+    private final int sectors;
+    private final SectorLayout layout;
+    private final long seed;
+
+    public FairnessSimulator(int sectors, long seed) {
+        if (sectors < 2) {
+            throw new IllegalArgumentException("At least two sectors are needed, got " + sectors);
+        }
+        this.sectors = sectors;
+        this.layout = null;
+        this.seed = seed;
+    }
+
+    public FairnessSimulator(SectorLayout layout, long seed) {
+        this.sectors = layout.getSectors();
+        this.layout = layout;
+        this.seed = seed;
+    }
+
+    public Report run(long spins) {
+        return run(spins, ForkJoinPool.commonPool());
+    }
+
+    public Report run(long spins, ForkJoinPool pool) {
+        if (spins <= 0) {
+            throw new IllegalArgumentException("Spins must be positive, got " + spins);
+        }
+        long blocks = (spins + BLOCK_SPINS - 1) / BLOCK_SPINS;
+        long[] counts = pool.invoke(new BlockTask(this.sectors, this.layout, this.seed, spins, 0, blocks));
+        return new Report(this.sectors, spins, counts, expectedShares());
+    }
+
+    //indexed by stop sector - 1, the stop sector of the top slot is sectors
+    private double[] expectedShares() {
+        double[] shares = new double[this.sectors];
+        if (this.layout == null) {
+            Arrays.fill(shares, 1.0 / this.sectors);
+            return shares;
+        }
+        double total = 0;
+        for (int sector = 0; sector < this.sectors; sector++) {
+            total += this.layout.getWeight(sector);
+        }
+        for (int stop = 1; stop <= this.sectors; stop++) {
+            int sector = this.layout.sectorOfSlot(stop % this.sectors);
+            shares[stop - 1] = this.layout.getWeight(sector) / total;
+        }
+        return shares;
+    }
+
+    //last slot of the histogram collects stop sectors outside 1..sectors
+    static long[] simulateBlock(int sectors, SectorLayout layout, long seed, long spins) {
+        long[] counts = new long[sectors + 1];
+        WheelEngine engine = new WheelEngine();
+        if (layout == null) {
+            engine.setSectors(sectors);
+        } else {
+            engine.setSectorLayout(layout);
+        }
+        OutcomeSource source = OutcomeSources.seeded(seed);
+
+        for (long i = 0; i < spins; i++) {
+            engine.setWin(layout == null ? source.nextInt(sectors) : layout.pick(source));
+            int stop = engine.getStopSector();
+            if (stop < 1 || stop > sectors) {
+                counts[sectors]++;
+            } else {
+                counts[stop - 1]++;
+            }
+        }
+        return counts;
+    }
+
+    //splitmix64 finalizer, neighbouring block indices get unrelated seeds
+    static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static final class BlockTask extends RecursiveTask<long[]> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int sectors;
+        private final SectorLayout layout;
+        private final long seed;
+        private final long spins;
+        private final long fromBlock;
+        private final long toBlock;
+
+        BlockTask(int sectors, SectorLayout layout, long seed, long spins, long fromBlock, long toBlock) {
+            this.sectors = sectors;
+            this.layout = layout;
+            this.seed = seed;
+            this.spins = spins;
+            this.fromBlock = fromBlock;
+            this.toBlock = toBlock;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (this.toBlock - this.fromBlock == 1) {
+                long first = this.fromBlock * BLOCK_SPINS;
+                long count = Math.min(BLOCK_SPINS, this.spins - first);
+                return simulateBlock(this.sectors, this.layout, mix(this.seed + this.fromBlock), count);
+            }
+            long middle = (this.fromBlock + this.toBlock) >>> 1;
+            BlockTask left = new BlockTask(this.sectors, this.layout, this.seed, this.spins, this.fromBlock, middle);
+            BlockTask right = new BlockTask(this.sectors, this.layout, this.seed, this.spins, middle, this.toBlock);
+            left.fork();
+            long[] counts = right.compute();
+            long[] leftCounts = left.join();
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += leftCounts[i];
+            }
+            return counts;
+        }
+    }
+
+    /**
+     * Per-sector frequencies and Pearson's chi-square against the expected distribution.
+     * Sectors are numbered 1..sectors like {@link WheelEngine#getStopSector()}.
+     */
+    public static final class Report {
+
+        private final int sectors;
+        private final long spins;
+        private final long[] counts;
+        private final double chiSquare;
+
+        Report(int sectors, long spins, long[] counts, double[] shares) {
+            this.sectors = sectors;
+            this.spins = spins;
+            this.counts = counts;
+
+            double sum = 0;
+            for (int i = 0; i < sectors; i++) {
+                double expected = spins * shares[i];
+                double delta = counts[i] - expected;
+                sum += delta * delta / expected;
+            }
+            this.chiSquare = sum;
+        }
+
+        public int getSectors() {
+            return this.sectors;
+        }
+
+        public long getSpins() {
+            return this.spins;
+        }
+
+        public long getCount(int sector) {
+            return this.counts[sector - 1];
+        }
+
+        public double getFrequency(int sector) {
+            return (double) getCount(sector) / this.spins;
+        }
+
+        //spins that mapped to no sector at all, anything but zero is a mapping bug
+        public long getOutOfRange() {
+            return this.counts[this.sectors];
+        }
+
+        public double getChiSquare() {
+            return this.chiSquare;
+        }
+
+        public int getDegreesOfFreedom() {
+            return this.sectors - 1;
+        }
+
+        //probability of a chi-square at least this large for a fair wheel
+        public double getPValue() {
+            return regularizedGammaQ(getDegreesOfFreedom() / 2.0, this.chiSquare / 2.0);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder();
+            builder.append(String.format(Locale.US, "%d spins over %d sectors%n", this.spins, this.sectors));
+            for (int sector = 1; sector <= this.sectors; sector++) {
+                builder.append(String.format(Locale.US, "  %3d  %14d  %.6f%n",
+                        sector, getCount(sector), getFrequency(sector)));
+            }
+            builder.append(String.format(Locale.US, "out of range %d%n", getOutOfRange()));
+            builder.append(String.format(Locale.US, "chi-square %.4f, df %d, p %.6f",
+                    this.chiSquare, getDegreesOfFreedom(), getPValue()));
+            return builder.toString();
+        }
+    }
+
+    //upper regularized incomplete gamma, series below a + 1 and continued fraction above
+    static double regularizedGammaQ(double a, double x) {
+        if (x <= 0) {
+            return 1;
+        }
+        if (x < a + 1) {
+            double term = 1 / a;
+            double sum = term;
+            for (int n = 1; n < 10_000 && Math.abs(term) > Math.abs(sum) * 1e-15; n++) {
+                term *= x / (a + n);
+                sum += term;
+            }
+            return 1 - sum * Math.exp(-x + a * Math.log(x) - logGamma(a));
+        }
+        double tiny = 1e-300;
+        double b = x + 1 - a;
+        double c = 1 / tiny;
+        double d = 1 / b;
+        double h = d;
+        for (int i = 1; i < 10_000; i++) {
+            double an = -i * (i - a);
+            b += 2;
+            d = an * d + b;
+            if (Math.abs(d) < tiny) d = tiny;
+            c = b + an / c;
+            if (Math.abs(c) < tiny) c = tiny;
+            d = 1 / d;
+            double delta = d * c;
+            h *= delta;
+            if (Math.abs(delta - 1) < 1e-15) {
+                break;
+            }
+        }
+        return Math.exp(-x + a * Math.log(x) - logGamma(a)) * h;
+    }
+
+    //lanczos approximation, plenty for p-values
+    static double logGamma(double x) {
+        double[] coefficients = {
+                76.18009172947146, -86.50532032941677, 24.01409824083091,
+                -1.231739572450155, 0.1208650973866179e-2, -0.5395239384953e-5};
+        double y = x;
+        double tmp = x + 5.5;
+        tmp -= (x + 0.5) * Math.log(tmp);
+        double series = 1.000000000190015;
+        for (double coefficient : coefficients) {
+            series += coefficient / ++y;
+        }
+        return -tmp + Math.log(2.5066282746310005 * series / x);
+    }
+
+    /**
+     * {@code java FairnessSimulator <sectors> <spins> [seed]} against the compiled engine
+     * classes, e.g. app/build/intermediates/javac/debug/classes.
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("usage: FairnessSimulator <sectors> <spins> [seed]");
+            System.exit(2);
+        }
+        int sectors = Integer.parseInt(args[0]);
+        long spins = Long.parseLong(args[1]);
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+
+        long start = System.nanoTime();
+        Report report = new FairnessSimulator(sectors, seed).run(spins);
+        long elapsed = System.nanoTime() - start;
+
+        System.out.println(report);
+        System.out.println(String.format(Locale.US, "seed %d, %.2f s, %d threads",
+                seed, elapsed / 1e9, ForkJoinPool.commonPool().getParallelism()));
+    }
+}
@@ -0,0 +1,90 @@
+package com.skolev.simplewheel.engine;
+
+/**
+ * Closed-form spin curve: linear acceleration, constant cruise and linear deceleration
+ * that ends exactly on the target angle with zero velocity. Evaluating a frame is a single
+ * piecewise polynomial, so the whole spin is known as soon as it is configured.
+ */
+public final class LandingTrajectory {
+
+    private static final float NANOS_PER_SECOND = 1_000_000_000f;
+
+    private float startAngle;
+    private float endAngle;
+    private float sign;
+    private float peakVelocity;
+    private float accelSeconds;
+    private float cruiseSeconds;
+    private float decelSeconds;
+    private long durationNanos;
+
+    /**
+     * @param startAngle        current wheel rotation
+     * @param targetAngle       rotation the wheel has to stop on, any representation modulo 360
+     * @param sign              +1 to turn with increasing angles, -1 otherwise
+     * @param accelNanos        acceleration time
+     * @param cruiseNanos       constant speed time
+     * @param decelNanos        deceleration time
+     * @param preferredVelocity cruise speed in degrees per second the full turns are fitted to,
+     *                          0 to take the shortest way to the target
+     */
+    public void configure(float startAngle, float targetAngle, float sign,
+                          long accelNanos, long cruiseNanos, long decelNanos,
+                          float preferredVelocity) {
+        this.startAngle = startAngle;
+        this.sign = sign < 0 ? -1f : 1f;
+        this.accelSeconds = accelNanos / NANOS_PER_SECOND;
+        this.cruiseSeconds = cruiseNanos / NANOS_PER_SECOND;
+        this.decelSeconds = decelNanos / NANOS_PER_SECOND;
+        this.durationNanos = accelNanos + cruiseNanos + decelNanos;
+
+        float distance = WheelEngine.formatAngle((targetAngle - startAngle) * this.sign);
+        float effectiveSeconds = this.accelSeconds / 2f + this.cruiseSeconds + this.decelSeconds / 2f;
+
+        if (effectiveSeconds <= 0) {
+            this.peakVelocity = 0;
+            this.endAngle = startAngle + distance * this.sign;
+            this.durationNanos = 0;
+            return;
+        }
+        float turns = Math.round((preferredVelocity * effectiveSeconds - distance)
+                / WheelEngine.FULL_ROTATION_ANGLE_FLOAT);
+        if (turns > 0) {
+            distance += turns * WheelEngine.FULL_ROTATION_ANGLE_FLOAT;
+        }
+        this.peakVelocity = distance / effectiveSeconds;
+        this.endAngle = startAngle + distance * this.sign;
+    }
+
+    public long getDurationNanos() {
+        return this.durationNanos;
+    }
+
+    public float getEndAngle() {
+        return this.endAngle;
+    }
+
+    public float getPeakVelocity() {
+        return this.peakVelocity;
+    }
+
+    public float angleAt(long elapsedNanos) {
+        if (elapsedNanos >= this.durationNanos) {
+            return this.endAngle;
+        }
+        if (elapsedNanos <= 0) {
+            return this.startAngle;
+        }
+        float t = elapsedNanos / NANOS_PER_SECOND;
+
+        if (t < this.accelSeconds) {
+            return this.startAngle + this.sign * 0.5f * this.peakVelocity / this.accelSeconds * t * t;
+        }
+        if (t < this.accelSeconds + this.cruiseSeconds) {
+            return this.startAngle + this.sign * this.peakVelocity
+                    * (0.5f * this.accelSeconds + (t - this.accelSeconds));
+        }
+        float remaining = this.accelSeconds + this.cruiseSeconds + this.decelSeconds - t;
+        return this.endAngle - this.sign * 0.5f * this.peakVelocity / this.decelSeconds * remaining * remaining;
+    }
+}
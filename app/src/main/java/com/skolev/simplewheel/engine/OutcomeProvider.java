@@ -0,0 +1,28 @@
+package com.skolev.simplewheel.engine;
+
+/**
+ * Asynchronous source of spin outcomes, e.g. a backend that decides the reward. The wheel
+ * asks when a spin starts and keeps spinning until the answer arrives or its timeout expires.
+ */
+public interface OutcomeProvider {
+
+    /**
+     * Exactly one of the methods is called, from any thread.
+     */
+    interface Callback {
+
+        //sector numbering as in WheelEngine.setWin, 0 until sectors - 1
+        void onOutcome(int sector);
+
+        void onError(Throwable error);
+    }
+
+    void requestOutcome(int sectors, Callback callback);
+
+    /**
+     * The caller stopped waiting, e.g. after its timeout. Providers that can keep a late answer
+     * for the next request end the callback with onError, others may ignore it.
+     */
+    default void cancel(Callback callback) {
+    }
+}
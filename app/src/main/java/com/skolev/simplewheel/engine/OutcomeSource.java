@@ -0,0 +1,13 @@
+package com.skolev.simplewheel.engine;
+
+/**
+ * Supplies the random numbers behind spin outcomes. Implementations must not allocate per
+ * call; see {@link OutcomeSources} for the built-in ones.
+ */
+public interface OutcomeSource {
+
+    /**
+     * @return a uniformly distributed value in {@code [0, bound)}
+     */
+    int nextInt(int bound);
+}
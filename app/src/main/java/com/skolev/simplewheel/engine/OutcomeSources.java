@@ -0,0 +1,85 @@
+package com.skolev.simplewheel.engine;
+
+import java.security.SecureRandom;
+
+/**
+ * Built-in {@link OutcomeSource}s. None of them is thread safe, a source belongs to the
+ * thread that spins the wheel.
+ */
+public final class OutcomeSources {
+
+    private OutcomeSources() {
+    }
+
+    //splitmix64 seeded once from the platform entropy, the default for casual wheels
+    public static OutcomeSource fast() {
+        return new SplitMix64(new SecureRandom().nextLong());
+    }
+
+    //every value comes from SecureRandom, for rewards that have to be unpredictable
+    public static OutcomeSource secure() {
+        return new Secure(new SecureRandom());
+    }
+
+    public static OutcomeSource secure(SecureRandom random) {
+        return new Secure(random);
+    }
+
+    //same seed, same sequence, on every device and release
+    public static OutcomeSource seeded(long seed) {
+        return new SplitMix64(seed);
+    }
+
+    /**
+     * Java port of SplittableRandom's generator, which is only public from API 24. Bounded
+     * values use Lemire's multiply and reject, so no bound is biased.
+     */
+    static final class SplitMix64 implements OutcomeSource {
+
+        private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+        private long state;
+
+        SplitMix64(long seed) {
+            this.state = seed;
+        }
+
+        long nextLong() {
+            long z = (this.state += GOLDEN_GAMMA);
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return z ^ (z >>> 31);
+        }
+
+        @Override
+        public int nextInt(int bound) {
+            if (bound <= 0) {
+                throw new IllegalArgumentException("Bound must be positive, got " + bound);
+            }
+            long product = (nextLong() >>> 32) * bound;
+            long low = product & 0xFFFFFFFFL;
+            if (low < bound) {
+                long threshold = (0x100000000L - bound) % bound;
+                while (low < threshold) {
+                    product = (nextLong() >>> 32) * bound;
+                    low = product & 0xFFFFFFFFL;
+                }
+            }
+            return (int) (product >>> 32);
+        }
+    }
+
+    private static final class Secure implements OutcomeSource {
+
+        private final SecureRandom random;
+
+        Secure(SecureRandom random) {
+            this.random = random;
+        }
+
+        @Override
+        public int nextInt(int bound) {
+            return this.random.nextInt(bound);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.skolev.simplewheel.engine;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Keeps one outcome of the wrapped provider in reserve. A request takes the reserved outcome
+ * when there is one and immediately fetches the next, so while a spin is animating the answer
+ * for the following spin is already on its way. A change of the sector count drops the reserve.
+ * <p>
+ * Only one caller waits at a time, a newer request or a cancel ends the older one with onError.
+ * An answer nobody waits for any more becomes the reserve.
+ */
+public final class PrefetchingOutcomeProvider implements OutcomeProvider {
+
+    private final OutcomeProvider delegate;
+
+    private int sectors;
+    private int generation;
+    private int outcome = WheelEngine.NONE;
+    private boolean pending;
+    private Callback waiting;
+
+    public PrefetchingOutcomeProvider(OutcomeProvider delegate) {
+        this.delegate = delegate;
+    }
+
+    //warms the reserve up before the first spin
+    public void prefetch(int sectors) {
+        Callback dropped;
+        int requestGeneration;
+        boolean fetch;
+        synchronized (this) {
+            dropped = discardIfChanged(sectors);
+            fetch = !this.pending && this.outcome == WheelEngine.NONE;
+            this.pending |= fetch;
+            requestGeneration = this.generation;
+        }
+        drop(dropped, sectors);
+        if (fetch) {
+            fetch(sectors, requestGeneration);
+        }
+    }
+
+    @Override
+    public void requestOutcome(int sectors, Callback callback) {
+        Callback dropped;
+        Callback replaced = null;
+        int ready;
+        int requestGeneration;
+        boolean fetch;
+        synchronized (this) {
+            dropped = discardIfChanged(sectors);
+            ready = this.outcome;
+            this.outcome = WheelEngine.NONE;
+            if (ready == WheelEngine.NONE) {
+                replaced = this.waiting;
+                this.waiting = callback;
+            }
+            fetch = !this.pending;
+            this.pending = true;
+            requestGeneration = this.generation;
+        }
+        drop(dropped, sectors);
+        if (replaced != null) {
+            replaced.onError(new IllegalStateException("Replaced by a newer request"));
+        }
+        if (ready != WheelEngine.NONE) {
+            callback.onOutcome(ready);
+        }
+        if (fetch) {
+            fetch(sectors, requestGeneration);
+        }
+    }
+
+    //the answer still on its way is kept as the reserve
+    @Override
+    public void cancel(Callback callback) {
+        synchronized (this) {
+            if (callback == null || this.waiting != callback) {
+                return;
+            }
+            this.waiting = null;
+        }
+        callback.onError(new CancellationException("Outcome request cancelled"));
+    }
+
+    public synchronized boolean hasReserve() {
+        return this.outcome != WheelEngine.NONE;
+    }
+
+    //returns the caller still waiting for an outcome of the old sector count
+    private Callback discardIfChanged(int sectors) {
+        if (this.sectors == sectors) {
+            return null;
+        }
+        Callback dropped = this.waiting;
+        this.sectors = sectors;
+        this.generation++;
+        this.outcome = WheelEngine.NONE;
+        this.pending = false;
+        this.waiting = null;
+        return dropped;
+    }
+
+    private static void drop(Callback callback, int sectors) {
+        if (callback != null) {
+            callback.onError(new IllegalStateException("Sector count changed to " + sectors));
+        }
+    }
+
+    private void fetch(final int sectors, final int requestGeneration) {
+        this.delegate.requestOutcome(sectors, new Callback() {
+            @Override
+            public void onOutcome(int sector) {
+                onFetched(sectors, requestGeneration, sector, null);
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                onFetched(sectors, requestGeneration, WheelEngine.NONE, error);
+            }
+        });
+    }
+
+    private void onFetched(int sectors, int requestGeneration, int sector, Throwable error) {
+        Callback target;
+        boolean fetchNext = false;
+        synchronized (this) {
+            if (requestGeneration != this.generation) {
+                return;
+            }
+            this.pending = false;
+            target = this.waiting;
+            this.waiting = null;
+
+            if (target == null) {
+                if (error == null) {
+                    this.outcome = sector;
+                }
+            } else if (error == null) {
+                fetchNext = true;
+                this.pending = true;
+            }
+        }
+        if (target != null) {
+            if (error != null) {
+                target.onError(error);
+            } else {
+                target.onOutcome(sector);
+            }
+        }
+        if (fetchNext) {
+            fetch(sectors, requestGeneration);
+        }
+    }
+}
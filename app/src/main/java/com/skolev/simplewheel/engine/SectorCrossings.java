@@ -0,0 +1,55 @@
+package com.skolev.simplewheel.engine;
+
+/**
+ * Dividers that passed the pointer during one engine frame, oldest first. Each crossing carries
+ * the sector that came under the pointer, in {@link WheelEngine#setWin(int)} numbering, and the
+ * frame time interpolated to the moment the divider reached it.
+ * <p>
+ * The engine refills the same instance every frame, so a batch is only valid until the next
+ * {@link WheelEngine#step(long)}.
+ */
+public final class SectorCrossings {
+
+    private int[] sectors = new int[16];
+    private long[] timesNanos = new long[16];
+    private int count;
+
+    public int getCount() {
+        return this.count;
+    }
+
+    public int getSector(int index) {
+        return this.sectors[index];
+    }
+
+    public long getTimeNanos(int index) {
+        return this.timesNanos[index];
+    }
+
+    public void clear() {
+        this.count = 0;
+    }
+
+    //appends another batch, e.g. to hand the crossings of several frames to another thread
+    public void addAll(SectorCrossings crossings) {
+        for (int i = 0; i < crossings.count; i++) {
+            add(crossings.sectors[i], crossings.timesNanos[i]);
+        }
+    }
+
+    //grows only when a frame crosses more dividers than any frame before it
+    void add(int sector, long timeNanos) {
+        if (this.count == this.sectors.length) {
+            int capacity = this.count << 1;
+            int[] sectors = new int[capacity];
+            long[] timesNanos = new long[capacity];
+            System.arraycopy(this.sectors, 0, sectors, 0, this.count);
+            System.arraycopy(this.timesNanos, 0, timesNanos, 0, this.count);
+            this.sectors = sectors;
+            this.timesNanos = timesNanos;
+        }
+        this.sectors[this.count] = sector;
+        this.timesNanos[this.count] = timeNanos;
+        this.count++;
+    }
+}
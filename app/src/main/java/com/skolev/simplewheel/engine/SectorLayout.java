@@ -0,0 +1,190 @@
+package com.skolev.simplewheel.engine;
+
+import java.util.Arrays;
+
+/**
+ * Sectors with individual arc sizes. Weights are given in the sector numbering of
+ * {@link WheelEngine#setWin(int)} and are scaled to a full turn. Internally the sectors are
+ * kept in drawing order, clockwise from the one centered under the pointer at rest, as a
+ * prefix sum of their arcs. A bucket table over the prefix sums narrows every angle down to
+ * the sectors overlapping its bucket, which are binary searched, so resolving an angle takes
+ * constant time for even weights and stays logarithmic for skewed ones.
+ * <p>
+ * Instances are immutable and safe to share with the render thread.
+ */
+public final class SectorLayout {
+
+    private static final float FULL_TURN = WheelEngine.FULL_ROTATION_ANGLE_FLOAT;
+
+    private final float[] weights;
+    private final double[] prefix;
+    private final double[] cumulativeWeights;
+    private final int sectors;
+    private final float offset;
+    private final int[] buckets;
+    private final float bucketScale;
+    private String signature;
+
+    public SectorLayout(float[] weights) {
+        if (weights.length < 2) {
+            throw new IllegalArgumentException("At least two sectors are needed, got " + weights.length);
+        }
+        this.sectors = weights.length;
+        this.weights = weights.clone();
+
+        double total = 0;
+        this.cumulativeWeights = new double[this.sectors + 1];
+        for (int sector = 0; sector < this.sectors; sector++) {
+            float weight = this.weights[sector];
+            if (!(weight > 0) || Float.isInfinite(weight)) {
+                throw new IllegalArgumentException("Weight of sector " + sector + " must be positive, got " + weight);
+            }
+            total += weight;
+            this.cumulativeWeights[sector + 1] = total;
+        }
+        //slot 0 is the top one, its label reads sectors, slot i shows sector (sectors - i) % sectors
+        this.prefix = new double[this.sectors + 1];
+        for (int slot = 0; slot < this.sectors; slot++) {
+            this.prefix[slot + 1] = this.prefix[slot] + this.weights[sectorOfSlot(slot)] * FULL_TURN / total;
+        }
+        this.prefix[this.sectors] = FULL_TURN;
+        this.offset = getSlotArc(0) / 2f;
+
+        //at least two buckets per sector, a power of two
+        this.buckets = new int[Integer.highestOneBit(Math.max(64, this.sectors << 1) - 1) << 1];
+        this.bucketScale = this.buckets.length / FULL_TURN;
+        int slot = 0;
+        for (int bucket = 0; bucket < this.buckets.length; bucket++) {
+            double bucketStart = bucket / (double) this.bucketScale;
+            while (slot < this.sectors - 1 && this.prefix[slot + 1] <= bucketStart) {
+                slot++;
+            }
+            this.buckets[bucket] = slot;
+        }
+    }
+
+    public int getSectors() {
+        return this.sectors;
+    }
+
+    public float getWeight(int sector) {
+        return this.weights[sector];
+    }
+
+    public float getArc(int sector) {
+        return getSlotArc(slotOfSector(sector));
+    }
+
+    /**
+     * @return rotation of the wheel at which {@code sector} is centered under the pointer
+     */
+    public float getWinAngle(int sector) {
+        return WheelEngine.formatAngle(FULL_TURN - getSlotCenter(slotOfSector(sector)));
+    }
+
+    /**
+     * @param localAngle angle on the unrotated wheel, clockwise from the top
+     * @return the sector under that angle in {@link WheelEngine#setWin(int)} numbering
+     */
+    public int sectorAt(float localAngle) {
+        return sectorOfSlot(slotAt(localAngle));
+    }
+
+    /**
+     * Draws a sector with a probability proportional to its weight.
+     */
+    public int pick(OutcomeSource source) {
+        double target = source.nextInt(1 << 30) / (double) (1 << 30) * this.cumulativeWeights[this.sectors];
+        int low = 0;
+        int high = this.sectors - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (this.cumulativeWeights[middle + 1] <= target) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    //slots are the sectors in drawing order, clockwise from the top
+
+    public int slotAt(float localAngle) {
+        double shifted = (double) WheelEngine.formatAngle(localAngle) + this.offset;
+        if (shifted >= FULL_TURN) {
+            shifted -= FULL_TURN;
+        }
+        int bucket = Math.min((int) (shifted * this.bucketScale), this.buckets.length - 1);
+        //the first slot ending past the angle, between the slots at the start of this bucket and the next
+        int low = this.buckets[bucket];
+        int high = bucket + 1 < this.buckets.length ? this.buckets[bucket + 1] : this.sectors - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (this.prefix[middle + 1] <= shifted) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    public float getSlotStart(int slot) {
+        return (float) (this.prefix[slot] - this.offset);
+    }
+
+    public float getSlotArc(int slot) {
+        return (float) (this.prefix[slot + 1] - this.prefix[slot]);
+    }
+
+    public float getSlotCenter(int slot) {
+        return (float) ((this.prefix[slot] + this.prefix[slot + 1]) / 2 - this.offset);
+    }
+
+    public int sectorOfSlot(int slot) {
+        return (this.sectors - slot) % this.sectors;
+    }
+
+    public int slotOfSector(int sector) {
+        return (this.sectors - sector) % this.sectors;
+    }
+
+    /**
+     * @return signed distance in degrees from {@code localAngle} to the nearest sector border,
+     * positive past the start of its sector and negative before its end
+     */
+    public float distanceToBorder(float localAngle) {
+        float angle = WheelEngine.formatAngle(localAngle);
+        int slot = slotAt(angle);
+        float start = getSlotStart(slot);
+        float position = WheelEngine.formatAngle(angle - start);
+        float arc = getSlotArc(slot);
+        return position < arc / 2f ? position : position - arc;
+    }
+
+    //stable across processes, used to key rendered bitmaps
+    public String getSignature() {
+        if (this.signature == null) {
+            long hash = 0xCBF29CE484222325L;
+            for (float weight : this.weights) {
+                hash ^= Float.floatToIntBits(weight);
+                hash *= 0x100000001B3L;
+            }
+            this.signature = this.sectors + ":" + Long.toHexString(hash);
+        }
+        return this.signature;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SectorLayout)) return false;
+        return Arrays.equals(this.weights, ((SectorLayout) o).weights);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.weights);
+    }
+}
@@ -0,0 +1,182 @@
+package com.skolev.simplewheel.engine;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * A whole spin sampled once per vsync tick: wheel rotation and pointer deflection per frame
+ * in one primitive buffer. Playback is an index lookup; the buffer can be written out and
+ * read back for frame-exact replays. The sector weights are kept along with the frames, a
+ * replay on a wheel with other arcs would stop between sectors.
+ */
+public final class SpinTimeline {
+
+    static final int FRAME_STRIDE = 2;
+
+    private static final int MAGIC = 0x53574C31;
+    private static final int VERSION = 3;
+    //frames are read in chunks, a corrupted count fails on the missing bytes instead of allocating
+    private static final int READ_CHUNK_FRAMES = 1024;
+
+    private float[] frames;
+    private int frameCount;
+    private int landingFrame;
+    private int sectors;
+    private SectorLayout layout;
+    private int winSector;
+    private int direction;
+    private long frameIntervalNanos;
+
+    public SpinTimeline() {
+        this.frames = new float[0];
+    }
+
+    void begin(long frameIntervalNanos, int sectors, SectorLayout layout, int winSector, int direction,
+               int expectedFrames) {
+        this.frameIntervalNanos = frameIntervalNanos;
+        this.sectors = sectors;
+        this.layout = layout;
+        this.winSector = winSector;
+        this.direction = direction;
+        this.frameCount = 0;
+        this.landingFrame = 0;
+        ensureCapacity(expectedFrames);
+    }
+
+    void add(float rotationAngle, float pointerAngle) {
+        ensureCapacity(this.frameCount + 1);
+        int index = this.frameCount * FRAME_STRIDE;
+        this.frames[index] = rotationAngle;
+        this.frames[index + 1] = pointerAngle;
+        this.frameCount++;
+    }
+
+    void markLanding() {
+        this.landingFrame = this.frameCount;
+    }
+
+    private void ensureCapacity(int frameCount) {
+        if (this.frames.length < frameCount * FRAME_STRIDE) {
+            float[] grown = new float[Math.max(frameCount, this.frames.length) * FRAME_STRIDE];
+            System.arraycopy(this.frames, 0, grown, 0, this.frameCount * FRAME_STRIDE);
+            this.frames = grown;
+        }
+    }
+
+    public int getFrameCount() {
+        return this.frameCount;
+    }
+
+    //first frame after the wheel stopped, the pointer settles from here on
+    public int getLandingFrame() {
+        return this.landingFrame;
+    }
+
+    public int getSectors() {
+        return this.sectors;
+    }
+
+    //null when the sectors were even
+    public SectorLayout getSectorLayout() {
+        return this.layout;
+    }
+
+    //numbered as in WheelEngine.setWin
+    public int getWinSector() {
+        return this.winSector;
+    }
+
+    public int getDirection() {
+        return this.direction;
+    }
+
+    public long getFrameIntervalNanos() {
+        return this.frameIntervalNanos;
+    }
+
+    public long getDurationNanos() {
+        return this.frameCount * this.frameIntervalNanos;
+    }
+
+    public float getRotationAngle(int frame) {
+        return this.frames[frame * FRAME_STRIDE];
+    }
+
+    public float getPointerAngle(int frame) {
+        return this.frames[frame * FRAME_STRIDE + 1];
+    }
+
+    public int frameAt(long elapsedNanos) {
+        if (elapsedNanos <= 0 || this.frameIntervalNanos <= 0) {
+            return 0;
+        }
+        long frame = (elapsedNanos + (this.frameIntervalNanos >> 1)) / this.frameIntervalNanos;
+        return (int) Math.min(frame, this.frameCount);
+    }
+
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(this.frameIntervalNanos);
+        out.writeInt(this.sectors);
+        out.writeInt(this.winSector);
+        out.writeInt(this.direction);
+        out.writeInt(this.landingFrame);
+        out.writeInt(this.frameCount);
+        int weights = this.layout != null ? this.sectors : 0;
+        out.writeInt(weights);
+        for (int sector = 0; sector < weights; sector++) {
+            out.writeFloat(this.layout.getWeight(sector));
+        }
+        for (int i = 0; i < this.frameCount * FRAME_STRIDE; i++) {
+            out.writeFloat(this.frames[i]);
+        }
+    }
+
+    public static SpinTimeline readFrom(DataInput in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a spin timeline");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported spin timeline version " + version);
+        }
+        SpinTimeline timeline = new SpinTimeline();
+        long interval = in.readLong();
+        int sectors = in.readInt();
+        int winSector = in.readInt();
+        int direction = in.readInt();
+        int landingFrame = in.readInt();
+        int frameCount = in.readInt();
+        int weightCount = in.readInt();
+
+        if (interval <= 0 || (direction != 1 && direction != -1)
+                || frameCount < 0 || frameCount > Integer.MAX_VALUE / FRAME_STRIDE
+                || landingFrame < 0 || landingFrame > frameCount
+                || winSector < 0 || winSector >= sectors
+                || (weightCount != 0 && weightCount != sectors)) {
+            throw new IOException("Corrupted spin timeline");
+        }
+        SectorLayout layout = null;
+        if (weightCount > 0) {
+            float[] weights = new float[weightCount];
+            for (int sector = 0; sector < weightCount; sector++) {
+                weights[sector] = in.readFloat();
+            }
+            try {
+                layout = new SectorLayout(weights);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Corrupted spin timeline", e);
+            }
+        }
+        //the buffer grows with the frames actually read, a short stream ends in an EOFException
+        timeline.begin(interval, sectors, layout, winSector, direction,
+                Math.min(frameCount, READ_CHUNK_FRAMES));
+        for (int i = 0; i < frameCount; i++) {
+            timeline.add(in.readFloat(), in.readFloat());
+        }
+        timeline.landingFrame = landingFrame;
+        return timeline;
+    }
+}
@@ -0,0 +1,67 @@
+package com.skolev.simplewheel.engine;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process {@link OutcomeProvider} for development and tests. Answers from an
+ * {@link OutcomeSource} after a configurable latency, or fails on request. A latency of zero
+ * answers on the calling thread.
+ */
+public final class StubOutcomeProvider implements OutcomeProvider {
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "wheel-stub-outcome");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final OutcomeSource source;
+    private final AtomicInteger requests;
+    private volatile long latencyMillis;
+    private volatile boolean failing;
+
+    public StubOutcomeProvider(OutcomeSource source, long latencyMillis) {
+        this.source = source;
+        this.latencyMillis = latencyMillis;
+        this.requests = new AtomicInteger();
+    }
+
+    public void setLatency(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    public void setFailing(boolean failing) {
+        this.failing = failing;
+    }
+
+    public int getRequestCount() {
+        return this.requests.get();
+    }
+
+    @Override
+    public void requestOutcome(int sectors, Callback callback) {
+        this.requests.incrementAndGet();
+        long latency = this.latencyMillis;
+        if (latency <= 0) {
+            answer(sectors, callback);
+        } else {
+            SCHEDULER.schedule(() -> answer(sectors, callback), latency, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    //sources are not thread safe, answers may come from the caller and the scheduler
+    private void answer(int sectors, Callback callback) {
+        if (this.failing) {
+            callback.onError(new IllegalStateException("Stub outcome provider is failing"));
+            return;
+        }
+        int sector;
+        synchronized (this.source) {
+            sector = this.source.nextInt(sectors);
+        }
+        callback.onOutcome(sector);
+    }
+}
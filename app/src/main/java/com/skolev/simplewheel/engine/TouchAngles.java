@@ -0,0 +1,82 @@
+package com.skolev.simplewheel.engine;
+
+/**
+ * Float angle math for the touch path. Angles are in degrees in [0, 360), clockwise from the
+ * positive x axis in screen coordinates, like {@link WheelEngine#calculateAngle(float, float)}.
+ */
+public final class TouchAngles {
+
+    private static final int TABLE_SIZE = 512;
+    private static final float[] ATAN = new float[TABLE_SIZE + 2];
+
+    static {
+        for (int i = 0; i < ATAN.length; i++) {
+            ATAN[i] = (float) Math.toDegrees(Math.atan((double) i / TABLE_SIZE));
+        }
+    }
+
+    private TouchAngles() {
+    }
+
+    public static float atan2(float dy, float dx) {
+        if (dx == 0 && dy == 0) {
+            return 0f;
+        }
+        float angle = (float) Math.toDegrees(Math.atan2(dy, dx));
+        return angle < 0 ? wrap(angle + WheelEngine.FULL_ROTATION_ANGLE_FLOAT) : angle;
+    }
+
+    /**
+     * Octant folded atan table with linear interpolation, off by less than 1e-4 degrees.
+     */
+    public static float table(float dy, float dx) {
+        float ax = Math.abs(dx);
+        float ay = Math.abs(dy);
+        if (ax == 0 && ay == 0) {
+            return 0f;
+        }
+        boolean steep = ay > ax;
+        float position = (steep ? ax / ay : ay / ax) * TABLE_SIZE;
+        int index = (int) position;
+        float angle = ATAN[index] + (ATAN[index + 1] - ATAN[index]) * (position - index);
+
+        if (steep) {
+            angle = 90f - angle;
+        }
+        if (dx < 0) {
+            angle = 180f - angle;
+        }
+        if (dy < 0) {
+            angle = wrap(WheelEngine.FULL_ROTATION_ANGLE_FLOAT - angle);
+        }
+        return angle;
+    }
+
+    //just below the positive x axis the angle rounds up to a full turn
+    private static float wrap(float angle) {
+        return angle >= WheelEngine.FULL_ROTATION_ANGLE_FLOAT ? angle - WheelEngine.FULL_ROTATION_ANGLE_FLOAT : angle;
+    }
+
+    /**
+     * Angular velocity of a touch moving with {@code (vx, vy)} at offset {@code (dx, dy)} from
+     * the center, in degrees per second with the sign of the touch angle.
+     */
+    public static float angularVelocity(float dx, float dy, float vx, float vy) {
+        float radiusSquared = dx * dx + dy * dy;
+        if (radiusSquared == 0) {
+            return 0f;
+        }
+        return (float) Math.toDegrees((dx * vy - dy * vx) / radiusSquared);
+    }
+
+    //shortest signed turn from one angle to the other, in [-180, 180)
+    public static float delta(float from, float to) {
+        float delta = to - from;
+        if (delta >= 180f) {
+            delta -= WheelEngine.FULL_ROTATION_ANGLE_FLOAT;
+        } else if (delta < -180f) {
+            delta += WheelEngine.FULL_ROTATION_ANGLE_FLOAT;
+        }
+        return delta;
+    }
+}
@@ -0,0 +1,738 @@
+package com.skolev.simplewheel.engine;
+
+/**
+ * Android-free wheel state and geometry. Owns rotation, direction, sector size and
+ * pointer deflection; views only read the results and render them.
+ * None of the step/query methods allocate.
+ */
+public final class WheelEngine {
+
+    public static final int NONE = -1;
+    public static final int LAST_DIRECTION = 0;
+    public static final int HIT_HUB = -2;
+
+    public static final int PHASE_IDLE = 0;
+    public static final int PHASE_SPIN = 1;
+    public static final int PHASE_REWARD = 2;
+    public static final int PHASE_POINTER_SETTLE = 3;
+    public static final int PHASE_LANDING = 4;
+    public static final int PHASE_FLING = 5;
+
+    public static final int FULL_ROTATIONS_FOR_REWARD = 10;
+    public static final float FULL_ROTATION_ANGLE_FLOAT = 360F;
+
+    private static final float POINTER_ANIMATION_ANGLE_ON_WHEEL_STOP = 45;
+    private static final float POINTER_INCLINATION_ANGLE_CONST = 3f;
+    private static final float POINTER_SPIN_BONUS_ANGLE = 38;
+    private static final float POINTER_IDLE_AMPLITUDE = 30;
+    private static final float SPIN_DEGREES_PER_SECOND = 720f;
+    private static final float WIN_WINDOW_ANGLE = 10f;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long REWARD_DURATION_NANOS = FULL_ROTATIONS_FOR_REWARD * NANOS_PER_SECOND;
+    private static final long POINTER_SETTLE_DURATION_NANOS = 250_000_000L;
+    private static final long DEFAULT_LANDING_DURATION_NANOS = 6 * NANOS_PER_SECOND;
+    private static final float LANDING_ACCELERATION_SHARE = 0.15f;
+    private static final float LANDING_DECELERATION_SHARE = 0.5f;
+    private static final long UNSET = Long.MIN_VALUE;
+    private static final float FLING_FRICTION = 240f;
+    private static final float FLING_MIN_VELOCITY = 180f;
+    private static final float FLING_MAX_VELOCITY = 3600f;
+
+    private int winSector;
+    private float winAngle;
+    private int phase;
+    private float rewardAngle;
+    private long phaseStartNanos;
+    private long lastFrameNanos;
+    private long landingDurationNanos = DEFAULT_LANDING_DURATION_NANOS;
+    private int sectors;
+    private int direction;
+    private int startSector;
+    private float centerX;
+    private float centerY;
+    private float outerRadius;
+    private float hubRadius;
+    private float startAngle;
+    private float rotationAngle;
+    private float degreesSector;
+    private SectorLayout layout;
+    private float pointerDirection;
+    private float pointerAngle;
+    private boolean onPointer;
+    private boolean approximateAngles;
+    private final LandingTrajectory trajectory = new LandingTrajectory();
+    private final SectorCrossings crossings = new SectorCrossings();
+    private float flingVelocity;
+    private float flingDeceleration;
+    private float flingStartAngle;
+    private long flingDurationNanos;
+    private boolean flingFitted;
+    private SpinTimeline playback;
+    private WheelEngine recorder;
+
+    public WheelEngine() {
+        this.winSector = NONE;
+    }
+
+    public void setCenter(float centerX, float centerY) {
+        this.centerX = centerX;
+        this.centerY = centerY;
+    }
+
+    public float getCenterX() {
+        return this.centerX;
+    }
+
+    public float getCenterY() {
+        return this.centerY;
+    }
+
+    public void setRadii(float outerRadius, float hubRadius) {
+        this.outerRadius = outerRadius;
+        this.hubRadius = hubRadius;
+    }
+
+    public void setSectors(int sectors) {
+        this.layout = null;
+        this.sectors = sectors;
+        this.degreesSector = FULL_ROTATION_ANGLE_FLOAT / sectors;
+    }
+
+    /**
+     * Gives the sectors individual arcs, {@link #getDegreesSector()} becomes their average.
+     * {@link #setSectors(int)} returns to equal sectors.
+     */
+    public void setSectorLayout(SectorLayout layout) {
+        this.layout = layout;
+        this.sectors = layout.getSectors();
+        this.degreesSector = FULL_ROTATION_ANGLE_FLOAT / this.sectors;
+    }
+
+    //null while all sectors are equal
+    public SectorLayout getSectorLayout() {
+        return this.layout;
+    }
+
+    public int getSectors() {
+        return this.sectors;
+    }
+
+    public float getDegreesSector() {
+        return this.degreesSector;
+    }
+
+    public float getRotationAngle() {
+        return this.rotationAngle;
+    }
+
+    public void setRotationAngle(float rotationAngle) {
+        this.rotationAngle = rotationAngle;
+    }
+
+    public int getDirection() {
+        return this.direction;
+    }
+
+    public void setDirection(int direction) {
+        this.direction = direction;
+    }
+
+    public float getPointerDirection() {
+        return this.pointerDirection;
+    }
+
+    public void setPointerDirection(float pointerDirection) {
+        this.pointerDirection = pointerDirection;
+    }
+
+    public float getPointerAngle() {
+        return this.pointerAngle;
+    }
+
+    public boolean isOnPointer() {
+        return this.onPointer;
+    }
+
+    public int getStartSector() {
+        return this.startSector;
+    }
+
+    //sets initial sector, only moves the wheel if it is still at its rest position
+    public void setStartSector(int sector) {
+        this.startSector = sector;
+        if (this.rotationAngle == 0) {
+            this.rotationAngle = FULL_ROTATION_ANGLE_FLOAT - sectorAngle(sector);
+        }
+    }
+
+    //rotation that centers the win sector under the pointer
+    public float getWin() {
+        return this.winAngle;
+    }
+
+    //numbered as in setWin, NONE before the win is known
+    public int getWinSector() {
+        return this.winSector;
+    }
+
+    public boolean hasWin() {
+        return this.winSector != NONE;
+    }
+
+    /**
+     * The sector is kept as is, with its exact center angle; sectors narrower than a degree
+     * would land on a neighbour if the win were rounded.
+     */
+    public void setWin(int sector) {
+        this.winSector = sector;
+        this.winAngle = formatAngle(sectorAngle(sector));
+    }
+
+    public void resetWin() {
+        this.winSector = NONE;
+    }
+
+    //the slot under the pointer, counted from 1 at the top, NONE before the win is known
+    public int getStopSector() {
+        if (this.winSector == NONE) {
+            return NONE;
+        }
+        return this.winSector == 0 ? this.sectors : this.sectors - this.winSector;
+    }
+
+    //rotation that brings the sector under the pointer
+    private float sectorAngle(int sector) {
+        return this.layout == null ? this.degreesSector * sector : this.layout.getWinAngle(sector);
+    }
+
+    public float getRewardAngle() {
+        return (this.direction < 0 ? this.winAngle : FULL_ROTATION_ANGLE_FLOAT - this.winAngle)
+                + FULL_ROTATION_ANGLE_FLOAT * FULL_ROTATIONS_FOR_REWARD;
+    }
+
+    public void prepareSpin(int rotationDirection) {
+        if (rotationDirection != LAST_DIRECTION) {
+            this.direction = rotationDirection;
+        }
+        this.pointerDirection = this.direction;
+    }
+
+    public void startSpin() {
+        this.rotationAngle = Math.round(formatAngle(this.rotationAngle));
+        enterPhase(PHASE_SPIN);
+    }
+
+    /**
+     * Starts a spin whose whole trajectory, including the stop on the given sector, is known
+     * up front. Sector numbering is the same as for {@link #setWin(int)}.
+     */
+    public void startLanding(int sector) {
+        startLanding(sector, this.landingDurationNanos);
+    }
+
+    //lands in the given time instead of the landing duration, e.g. for staggered stops
+    public void startLanding(int sector, long durationNanos) {
+        this.rotationAngle = formatAngle(this.rotationAngle);
+        setWin(sector);
+
+        long accel = (long) (durationNanos * LANDING_ACCELERATION_SHARE);
+        long decel = (long) (durationNanos * LANDING_DECELERATION_SHARE);
+        this.trajectory.configure(
+                this.rotationAngle,
+                this.winAngle,
+                this.direction * -1,
+                accel,
+                durationNanos - accel - decel,
+                decel,
+                SPIN_DEGREES_PER_SECOND);
+        enterPhase(PHASE_LANDING);
+    }
+
+    /**
+     * Lets the wheel coast from a fling. Friction slows it down, but not below a minimum speed
+     * while there is no win yet; once the win is known the deceleration is refitted from the
+     * current speed so the wheel comes to rest on it.
+     *
+     * @param angularVelocity degrees per second, positive in the sense of the rotation angle
+     */
+    public void startFling(float angularVelocity) {
+        float speed = Math.max(FLING_MIN_VELOCITY, Math.min(Math.abs(angularVelocity), FLING_MAX_VELOCITY));
+        this.flingVelocity = angularVelocity < 0 ? -speed : speed;
+        this.direction = angularVelocity < 0 ? 1 : -1;
+        this.pointerDirection = this.direction;
+        this.rotationAngle = formatAngle(this.rotationAngle);
+        this.flingFitted = false;
+        enterPhase(PHASE_FLING);
+    }
+
+    public float getFlingVelocity() {
+        return this.flingVelocity;
+    }
+
+    public void setLandingDuration(long durationNanos) {
+        this.landingDurationNanos = Math.max(0, durationNanos);
+    }
+
+    public long getLandingDuration() {
+        return this.landingDurationNanos;
+    }
+
+    /**
+     * Simulates a landing spin from the current state without touching it and samples every
+     * frame into {@code timeline}.
+     */
+    public SpinTimeline recordLanding(int sector, long frameIntervalNanos, SpinTimeline timeline) {
+        if (frameIntervalNanos <= 0) {
+            throw new IllegalArgumentException("Frame interval must be positive, got " + frameIntervalNanos);
+        }
+        if (this.recorder == null) {
+            this.recorder = new WheelEngine();
+        }
+        WheelEngine recorder = this.recorder;
+        recorder.setSectors(this.sectors);
+        recorder.layout = this.layout;
+        recorder.startSector = this.startSector;
+        recorder.rotationAngle = this.rotationAngle;
+        recorder.direction = this.direction;
+        recorder.pointerDirection = this.pointerDirection;
+        recorder.landingDurationNanos = this.landingDurationNanos;
+        recorder.startLanding(sector);
+
+        int expectedFrames = (int) ((this.landingDurationNanos + POINTER_SETTLE_DURATION_NANOS)
+                / frameIntervalNanos) + 2;
+        //a wheel that never turned lands clockwise like direction -1, the timeline keeps the direction it took
+        timeline.begin(frameIntervalNanos, this.sectors, this.layout, recorder.winSector,
+                this.direction > 0 ? 1 : -1, expectedFrames);
+
+        long time = 0;
+        boolean landed = false;
+        int phase = recorder.step(time);
+        while (true) {
+            if (!landed && phase != PHASE_LANDING) {
+                timeline.markLanding();
+                landed = true;
+            }
+            timeline.add(recorder.rotationAngle, recorder.pointerAngle);
+            if (phase == PHASE_IDLE) {
+                break;
+            }
+            time += frameIntervalNanos;
+            phase = recorder.step(time);
+        }
+        return timeline;
+    }
+
+    public void startPlayback(SpinTimeline timeline) {
+        if (timeline.getSectors() != this.sectors) {
+            throw new IllegalArgumentException("Timeline was recorded for "
+                    + timeline.getSectors() + " sectors, the wheel has " + this.sectors);
+        }
+        SectorLayout layout = timeline.getSectorLayout();
+        if (layout == null ? this.layout != null : !layout.equals(this.layout)) {
+            throw new IllegalArgumentException("Timeline was recorded for other sector weights");
+        }
+        this.playback = timeline;
+        setWin(timeline.getWinSector());
+        this.direction = timeline.getDirection();
+        this.pointerDirection = this.direction;
+        enterPhase(timeline.getFrameCount() > 0 ? PHASE_LANDING : PHASE_IDLE);
+    }
+
+    public void stop() {
+        this.phase = PHASE_IDLE;
+        this.playback = null;
+    }
+
+    public int getPhase() {
+        return this.phase;
+    }
+
+    public boolean isSpinning() {
+        return isSpinningPhase(this.phase);
+    }
+
+    public static boolean isSpinningPhase(int phase) {
+        return phase == PHASE_SPIN || phase == PHASE_REWARD || phase == PHASE_LANDING || phase == PHASE_FLING;
+    }
+
+    public boolean isAnimating() {
+        return this.phase != PHASE_IDLE;
+    }
+
+    /**
+     * Advances the spin state machine to the given frame time. The first frame after a
+     * phase change only anchors the phase clock.
+     *
+     * @return the phase after the step
+     */
+    public int step(long frameTimeNanos) {
+        if (this.phaseStartNanos == UNSET) {
+            this.phaseStartNanos = frameTimeNanos;
+            this.lastFrameNanos = frameTimeNanos;
+        }
+        long elapsed = frameTimeNanos - this.phaseStartNanos;
+        float previousAngle = this.rotationAngle;
+
+        if (this.playback != null) {
+            stepPlayback(elapsed);
+        } else {
+            switch (this.phase) {
+                case PHASE_SPIN:
+                    stepSpin(frameTimeNanos, frameTimeNanos - this.lastFrameNanos);
+                    break;
+                case PHASE_REWARD:
+                    stepReward(frameTimeNanos, elapsed);
+                    break;
+                case PHASE_LANDING:
+                    stepLanding(frameTimeNanos, elapsed);
+                    break;
+                case PHASE_FLING:
+                    stepFling(frameTimeNanos, elapsed, frameTimeNanos - this.lastFrameNanos);
+                    break;
+                case PHASE_POINTER_SETTLE:
+                    stepPointerSettle(elapsed);
+                    break;
+            }
+        }
+        collectCrossings(previousAngle, this.rotationAngle, this.lastFrameNanos, frameTimeNanos);
+        this.lastFrameNanos = frameTimeNanos;
+        return this.phase;
+    }
+
+    /**
+     * @return the dividers that passed the pointer during the last {@link #step(long)}
+     */
+    public SectorCrossings getCrossings() {
+        return this.crossings;
+    }
+
+    /**
+     * Collects every divider between two rotations, taking the shorter way round, so a frame
+     * has to turn the wheel by less than half a rotation. Times are interpolated linearly over
+     * the frame. Borders are walked one sector at a time from the one next to the pointer,
+     * the cost is one lookup plus one step per crossing.
+     */
+    void collectCrossings(float fromAngle, float toAngle, long fromNanos, long toNanos) {
+        this.crossings.clear();
+        float travel = TouchAngles.delta(formatAngle(fromAngle), formatAngle(toAngle));
+        if (travel == 0 || this.sectors == 0) {
+            return;
+        }
+        //the pointer runs over the unrotated wheel against the rotation
+        float pointer = formatAngle(-fromAngle);
+        int slot = slotAt(pointer);
+        int step;
+        double distance;
+        if (travel > 0) {
+            step = this.sectors - 1;
+            distance = formatAngle(pointer - slotStart(slot));
+        } else {
+            step = 1;
+            travel = -travel;
+            distance = formatAngle(slotStart(slot) + slotArc(slot) - pointer);
+        }
+        //rounding can put the pointer a hair past the border of its slot
+        if (distance > slotArc(slot)) {
+            distance -= FULL_ROTATION_ANGLE_FLOAT;
+        }
+        if (distance <= 0) {
+            slot = (slot + step) % this.sectors;
+            distance += slotArc(slot);
+        }
+        long frameNanos = toNanos - fromNanos;
+        while (distance <= travel) {
+            slot = (slot + step) % this.sectors;
+            this.crossings.add((this.sectors - slot) % this.sectors, fromNanos + (long) (frameNanos * distance / travel));
+            distance += slotArc(slot);
+        }
+    }
+
+    //slots are the sectors in drawing order, clockwise from the top
+
+    private int slotAt(float localAngle) {
+        return this.layout != null
+                ? this.layout.slotAt(localAngle)
+                : (int) ((localAngle + this.degreesSector / 2f) / this.degreesSector) % this.sectors;
+    }
+
+    private float slotStart(int slot) {
+        return this.layout != null ? this.layout.getSlotStart(slot) : (slot - 0.5f) * this.degreesSector;
+    }
+
+    private float slotArc(int slot) {
+        return this.layout != null ? this.layout.getSlotArc(slot) : this.degreesSector;
+    }
+
+    private void stepSpin(long frameTimeNanos, long deltaNanos) {
+        float delta = SPIN_DEGREES_PER_SECOND * deltaNanos / NANOS_PER_SECOND * this.direction * -1;
+        float unwrapped = this.rotationAngle + delta;
+        this.rotationAngle = formatAngle(unwrapped);
+        updatePointer(true);
+
+        boolean crossedZero = unwrapped < 0 || unwrapped >= FULL_ROTATION_ANGLE_FLOAT;
+        boolean nearZero = this.rotationAngle < WIN_WINDOW_ANGLE
+                || this.rotationAngle > FULL_ROTATION_ANGLE_FLOAT - WIN_WINDOW_ANGLE;
+
+        if (hasWin() && (crossedZero || nearZero)) {
+            this.rewardAngle = getRewardAngle();
+            this.pointerDirection = this.direction;
+            enterPhase(PHASE_REWARD, frameTimeNanos);
+        }
+    }
+
+    private void stepReward(long frameTimeNanos, long elapsed) {
+        float t = Math.min(1f, (float) elapsed / REWARD_DURATION_NANOS);
+        float decelerated = 1f - (1f - t) * (1f - t);
+        this.rotationAngle = this.rewardAngle * decelerated * this.direction * -1;
+        updatePointer(true);
+
+        if (t >= 1f) {
+            enterPhase(PHASE_POINTER_SETTLE, frameTimeNanos);
+            pointerSettleStep(1f);
+        }
+    }
+
+    private void stepLanding(long frameTimeNanos, long elapsed) {
+        this.rotationAngle = formatAngle(this.trajectory.angleAt(elapsed));
+        updatePointer(true);
+
+        if (elapsed >= this.trajectory.getDurationNanos()) {
+            this.pointerDirection = this.direction;
+            enterPhase(PHASE_POINTER_SETTLE, frameTimeNanos);
+            pointerSettleStep(1f);
+        }
+    }
+
+    private void stepFling(long frameTimeNanos, long elapsed, long deltaNanos) {
+        if (this.flingFitted) {
+            float t = (float) Math.min(elapsed, this.flingDurationNanos) / NANOS_PER_SECOND;
+            float deceleration = this.flingVelocity < 0 ? -this.flingDeceleration : this.flingDeceleration;
+            this.rotationAngle = formatAngle(this.flingStartAngle + (this.flingVelocity - 0.5f * deceleration * t) * t);
+            updatePointer(true);
+
+            if (elapsed >= this.flingDurationNanos) {
+                this.pointerDirection = this.direction;
+                enterPhase(PHASE_POINTER_SETTLE, frameTimeNanos);
+                pointerSettleStep(1f);
+            }
+            return;
+        }
+        float dt = (float) deltaNanos / NANOS_PER_SECOND;
+        float speed = Math.max(FLING_MIN_VELOCITY, Math.abs(this.flingVelocity) - FLING_FRICTION * dt);
+        float velocity = this.flingVelocity < 0 ? -speed : speed;
+        this.rotationAngle = formatAngle(this.rotationAngle + (this.flingVelocity + velocity) * 0.5f * dt);
+        this.flingVelocity = velocity;
+        updatePointer(true);
+
+        if (hasWin()) {
+            fitFling(frameTimeNanos);
+        }
+    }
+
+    //stretches the friction stop to the next pass over the win, at most one extra turn
+    private void fitFling(long frameTimeNanos) {
+        float speed = Math.abs(this.flingVelocity);
+        float coast = speed * speed / (2 * FLING_FRICTION);
+        float distance = formatAngle((this.winAngle - this.rotationAngle) * Math.signum(this.flingVelocity));
+        if (distance < coast) {
+            distance += FULL_ROTATION_ANGLE_FLOAT * (float) Math.ceil((coast - distance) / FULL_ROTATION_ANGLE_FLOAT);
+        }
+        if (distance == 0) {
+            distance = FULL_ROTATION_ANGLE_FLOAT;
+        }
+        this.flingDeceleration = speed * speed / (2 * distance);
+        this.flingDurationNanos = (long) (2 * distance / speed * NANOS_PER_SECOND);
+        this.flingStartAngle = this.rotationAngle;
+        this.flingFitted = true;
+        enterPhase(PHASE_FLING, frameTimeNanos);
+    }
+
+    private void stepPlayback(long elapsed) {
+        SpinTimeline timeline = this.playback;
+        int frame = timeline.frameAt(elapsed);
+
+        if (frame >= timeline.getFrameCount() - 1) {
+            frame = timeline.getFrameCount() - 1;
+            this.phase = PHASE_IDLE;
+            this.playback = null;
+        } else {
+            this.phase = frame < timeline.getLandingFrame() ? PHASE_LANDING : PHASE_POINTER_SETTLE;
+        }
+        this.rotationAngle = timeline.getRotationAngle(frame);
+        this.pointerAngle = timeline.getPointerAngle(frame);
+    }
+
+    private void stepPointerSettle(long elapsed) {
+        float t = Math.min(1f, (float) elapsed / POINTER_SETTLE_DURATION_NANOS);
+        pointerSettleStep(1f - t * t);
+
+        if (t >= 1f) {
+            this.phase = PHASE_IDLE;
+        }
+    }
+
+    private void pointerSettleStep(float value) {
+        this.pointerAngle = POINTER_ANIMATION_ANGLE_ON_WHEEL_STOP * value * this.pointerDirection;
+    }
+
+    private void enterPhase(int phase) {
+        enterPhase(phase, UNSET);
+    }
+
+    private void enterPhase(int phase, long startNanos) {
+        this.phase = phase;
+        this.phaseStartNanos = startNanos;
+    }
+
+    public int touchDown(float x, float y) {
+        this.startAngle = touchAngle(x, y);
+        return sectorAt(this.startAngle);
+    }
+
+    /**
+     * Resolves a point on screen against the current rotation, comparing squared radii.
+     *
+     * @return the sector in {@link #setWin(int)} numbering, {@link #HIT_HUB} on the hub or
+     * {@link #NONE} off the wheel
+     */
+    public int hitTest(float x, float y) {
+        float dx = x - this.centerX;
+        float dy = y - this.centerY;
+        float radiusSquared = dx * dx + dy * dy;
+        if (radiusSquared > this.outerRadius * this.outerRadius) {
+            return NONE;
+        }
+        if (radiusSquared <= this.hubRadius * this.hubRadius) {
+            return HIT_HUB;
+        }
+        //screen angles start at 3 o'clock, wheel angles under the pointer at 12
+        int slot = slotAt(formatAngle(touchAngle(x, y) + 90f - this.rotationAngle));
+        return (this.sectors - slot) % this.sectors;
+    }
+
+    //the table is a little cheaper than atan2 and well below a pixel off on any screen
+    public void setApproximateAngles(boolean approximateAngles) {
+        this.approximateAngles = approximateAngles;
+    }
+
+    public boolean isApproximateAngles() {
+        return this.approximateAngles;
+    }
+
+    public float touchAngle(float x, float y) {
+        float dx = x - this.centerX;
+        float dy = y - this.centerY;
+        return this.approximateAngles ? TouchAngles.table(dy, dx) : TouchAngles.atan2(dy, dx);
+    }
+
+    public int sectorAt(float touchAngle) {
+        if (this.layout != null) {
+            float localAngle = formatAngle(FULL_ROTATION_ANGLE_FLOAT
+                    + sectorAngle(this.startSector) + this.rotationAngle - touchAngle);
+            return (this.layout.slotAt(localAngle) + this.sectors - 1) % this.sectors;
+        }
+        float sectorTouched =
+                (FULL_ROTATION_ANGLE_FLOAT + this.startSector * this.degreesSector + this.rotationAngle)
+                        - (touchAngle + this.degreesSector / 2f);
+
+        return (int) (formatAngle(sectorTouched) / this.degreesSector);
+    }
+
+    /**
+     * @return the shortest angle the touch moved since the previous sample
+     */
+    public float dragStep(float x, float y) {
+        float currentAngle = touchAngle(x, y);
+        float delta = TouchAngles.delta(this.startAngle, currentAngle);
+        this.startAngle = currentAngle;
+        return delta;
+    }
+
+    public void commitDrag(float resultAngle) {
+        this.rotationAngle = formatAngle(resultAngle + this.rotationAngle);
+
+        if (resultAngle != 0) {
+            this.direction = (int) (Math.signum(resultAngle) * -1);
+            if (!this.onPointer) {
+                this.pointerDirection = this.direction;
+            }
+        }
+    }
+
+    /**
+     * Recomputes the pointer deflection for the current rotation.
+     *
+     * @return the total pointer rotation in degrees around the pointer pivot
+     */
+    public float updatePointer(boolean spinning) {
+        float speedBonusAngle = spinning ? POINTER_SPIN_BONUS_ANGLE : 0;
+        float speedAmplitude = spinning ? 0 : POINTER_IDLE_AMPLITUDE;
+
+        float result = speedBonusAngle * this.pointerDirection;
+
+        float halfSector = this.degreesSector / 2;
+        float angle;
+        if (this.layout == null) {
+            angle = Math.abs(this.rotationAngle) % this.degreesSector;
+        } else {
+            //same measure as above, offset from the border closest to the pointer
+            float border = this.layout.distanceToBorder(formatAngle(-this.rotationAngle));
+            angle = halfSector + (this.rotationAngle >= 0 ? -border : border);
+        }
+        float rightBoundary = spinning ? halfSector + 4f : halfSector + 8f;
+        float leftBoundary = spinning ? halfSector - 4f : halfSector - 8f;
+
+        if (angle > leftBoundary && angle < rightBoundary) {
+            this.onPointer = true;
+            float pointerStartAngle;
+
+            if (this.pointerDirection > 0) {
+                pointerStartAngle = leftBoundary;
+            } else {
+                pointerStartAngle = rightBoundary;
+            }
+            float maxAngleDiff = Math.abs(rightBoundary - leftBoundary);
+            float angleDiff = Math.abs(pointerStartAngle - angle);
+            float angleCoef = angleDiff / maxAngleDiff;
+            result += (1 - angleCoef) * (POINTER_INCLINATION_ANGLE_CONST * (maxAngleDiff - angleDiff)
+                    + angleCoef * speedAmplitude) * this.pointerDirection;
+        } else {
+            this.onPointer = false;
+        }
+        this.pointerAngle = result;
+        return result;
+    }
+
+    public double calculateRadius(float x, float y) {
+        float deltaX = Math.round(x) - this.centerX;
+        float deltaY = Math.round(y) - this.centerY;
+        return Math.sqrt(deltaX * deltaX + deltaY * deltaY);
+    }
+
+    //reference math of the original touch handling, the touch path uses touchAngle
+    public float calculateAngle(float x, float y) {
+        double effectiveRadius = calculateRadius(x, y);
+        if (effectiveRadius == 0) {
+            return 0f;
+        }
+        double cosine = (Math.round(x) - Math.round(this.centerX)) / effectiveRadius;
+        double sign = 1.0;
+        double normalizer = 0.0;
+        if (y < this.centerY) {
+            sign = -1.0;
+            normalizer = 360.0;
+        }
+        double rads = Math.acos(cosine);
+        double rotation = Math.toDegrees(rads);
+        return (float) (normalizer + rotation * sign);
+    }
+
+    public static float formatAngle(float angle) {
+        if (angle >= FULL_ROTATION_ANGLE_FLOAT) {
+            angle %= FULL_ROTATION_ANGLE_FLOAT;
+        } else if (angle < 0) {
+            angle = angle % FULL_ROTATION_ANGLE_FLOAT + FULL_ROTATION_ANGLE_FLOAT;
+        }
+        return angle;
+    }
+}
@@ -0,0 +1,45 @@
+package com.skolev.simplewheel.view.custom_views.simple_wheel;
+
+/**
+ * Newest samples of one measurement for a single writer thread. Readers copy without locking;
+ * a slot that is overwritten while it is copied just shows up as a newer sample.
+ */
+final class MetricsRing {
+
+    private final long[] values;
+    private final int mask;
+    private volatile long written;
+
+    //capacity is rounded up to a power of two
+    MetricsRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.values = new long[size];
+        this.mask = size - 1;
+    }
+
+    void add(long value) {
+        long index = this.written;
+        this.values[(int) (index & this.mask)] = value;
+        this.written = index + 1;
+    }
+
+    long getWritten() {
+        return this.written;
+    }
+
+    int getCapacity() {
+        return this.values.length;
+    }
+
+    /**
+     * @return number of samples copied, oldest first
+     */
+    int copyTo(long[] target) {
+        long end = this.written;
+        int count = (int) Math.min(end, Math.min(this.values.length, target.length));
+        for (int i = 0; i < count; i++) {
+            target[i] = this.values[(int) ((end - count + i) & this.mask)];
+        }
+        return count;
+    }
+}
@@ -1,11 +1,8 @@
 package com.skolev.simplewheel.view.custom_views.simple_wheel;
 
-import android.animation.Animator;
-import android.animation.ValueAnimator;
 import android.annotation.TargetApi;
 import android.content.Context;
 import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.ColorMatrix;
@@ -15,12 +12,11 @@ import android.graphics.Paint;
 import android.graphics.PorterDuff;
 import android.os.Build;
 import android.util.AttributeSet;
+import android.util.Log;
+import android.view.Display;
 import android.view.GestureDetector;
 import android.view.MotionEvent;
 import android.view.View;
-import android.view.animation.AccelerateInterpolator;
-import android.view.animation.DecelerateInterpolator;
-import android.view.animation.LinearInterpolator;
 import android.widget.Toast;
 
 import androidx.annotation.NonNull;
@@ -29,14 +25,29 @@ import androidx.annotation.RequiresApi;
 
 
 import com.skolev.simplewheel.BuildConfig;
+import com.skolev.simplewheel.engine.OutcomeProvider;
+import com.skolev.simplewheel.engine.OutcomeSource;
+import com.skolev.simplewheel.engine.OutcomeSources;
+import com.skolev.simplewheel.engine.SectorCrossings;
+import com.skolev.simplewheel.engine.SectorLayout;
+import com.skolev.simplewheel.engine.SpinTimeline;
+import com.skolev.simplewheel.engine.TouchAngles;
+import com.skolev.simplewheel.engine.WheelEngine;
 
 import java.lang.ref.WeakReference;
-import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
 
 
 public class SimpleWheelView extends View implements View.OnTouchListener {
 
-    public static final int WHEEL_LAST_DIRECTION = 0;
+    public static final int WHEEL_LAST_DIRECTION = WheelEngine.LAST_DIRECTION;
+    public static final int RENDER_MODE_BITMAP = 0;
+    public static final int RENDER_MODE_VECTOR = 1;
+    public static final int MEMORY_MODE_DEFAULT = 0;
+    public static final int MEMORY_MODE_LOW = 1;
+    public static final int MEMORY_MODE_HARDWARE = 2;
+    public static final int SECTOR_HUB = WheelEngine.HIT_HUB;
 
     public interface OnWheelEventListener {
 
@@ -45,39 +56,64 @@ public class SimpleWheelView extends View implements View.OnTouchListener {
         void onWheelStop(int sector);
     }
 
-    private static final int NONE = -1;
-    private static final int FULL_ROTATIONS_FOR_REWARD = 10;
-    private static final int POINTER_ANIMATION_DURATION = 250;
-    private static final int DEFAULT_SHORT_ANIMATION_DURATION = 1000;
-    private static final int POINTER_ANIMATION_ANGLE_ON_WHEEL_STOP = 45;
-    private static final float FULL_ROTATION_ANGLE_FLOAT = 360F;
-    private static final float POINTER_INCLINATION_ANGLE_CONST = 3f;
+    /**
+     * Sectors are numbered like {@link #setWin(int)}, taps on the hub report {@link #SECTOR_HUB}.
+     */
+    public interface OnSectorTouchListener {
+
+        void onSectorTap(int sector);
+
+        void onSectorLongPress(int sector);
+    }
+
+    /**
+     * Called once per frame with every divider that passed the pointer, for ticks and haptics.
+     * The batch is reused by the next frame and must not be kept.
+     */
+    public interface OnSectorCrossingListener {
+
+        void onSectorCrossings(SectorCrossings crossings);
+    }
+
+    /**
+     * Receives a metrics snapshot whenever a spin comes to rest, see {@link #setMetricsEnabled(boolean)}.
+     */
+    public interface OnMetricsListener {
+
+        void onMetrics(WheelMetrics.Snapshot snapshot);
+    }
+
+    private static final float DEFAULT_REFRESH_RATE = 60f;
+    private static final float MIN_FLING_DEGREES_PER_SECOND = 300f;
 
-    private int win;
     private int wheelTop;
-    private int direction;
     private int wheelLeft;
-    private int wheelRes;
-    private int pointerRes;
     private int centerTextX;
     private int centerTextY;
     private int pointerTop;
-    private int sectorCount;
-    private int startSector;
     private int pointerLeft;
     private int wheelCenterX;
     private int wheelCenterY;
     private int centerTextSize;
-    private float startAngle;
-    private float rotationAngle;
-    private float degreesSector;
-    private float pointerDirection;
+    private int renderMode;
+    private int memoryMode;
     private boolean canSpin;
-    private boolean onPointer;
+    private boolean diskCache;
+    private boolean deterministicLanding;
+    private OutcomeSource outcomeSource;
+    private final Runnable delayedWin = this::drawDelayedWin;
+    private OutcomeProvider outcomeProvider;
+    private OutcomeSource outcomeFallback;
+    private long outcomeTimeoutMillis;
+    private int outcomeRequest;
+    private OutcomeProvider.Callback outcomeCallback;
+    private final Runnable outcomeTimeout = this::onOutcomeTimeout;
+    private boolean precomputedPlayback;
     private String centerText;
 
     private Paint paint;
     private Paint textPaint;
+    private Paint placeholderPaint;
     private Bitmap wheel;
     private Bitmap pointer;
     private Bitmap sectors;
@@ -85,16 +121,27 @@ public class SimpleWheelView extends View implements View.OnTouchListener {
     private Matrix wheelMatrix;
     private Matrix pointerMatrix;
 
-    private ValueAnimator spinAnimator;
-    private ValueAnimator rewardAnimator;
-    private ValueAnimator pointerAnimator;
+    private final WheelEngine engine = new WheelEngine();
+    private WheelFrameDriver frameDriver;
+    private SpinTimeline timeline;
 
     private Wheel wheelBluePrint;
     private Pointer pointerBluePrint;
-    private BitmapFactory.Options opt;
+    private WheelAsset wheelAsset;
+    private WheelAsset pointerAsset;
+    private WheelPrerenderer prerenderer;
+    private VectorWheelRenderer vectorRenderer;
+    private WheelLayer wheelLayer;
     private ColorMatrixColorFilter cf;
     private GestureDetector gestureDetector;
     private WeakReference<OnWheelEventListener> listener;
+    private WeakReference<OnSectorTouchListener> sectorTouchListener;
+    private WeakReference<OnSectorCrossingListener> sectorCrossingListener;
+    private WeakReference<OnMetricsListener> metricsListener;
+    private WheelMetrics metrics;
+    private WheelFrameMetrics frameMetrics;
+    private long drawStartNanos;
+    private WheelRenderThread renderThread;
 
     {
         init();
@@ -120,6 +167,8 @@ public class SimpleWheelView extends View implements View.OnTouchListener {
             init(attrs.getAttributeResourceValue("http://schemas.android.com/apk/res-auto", "wheel", 0),
                     attrs.getAttributeResourceValue("http://schemas.android.com/apk/res-auto", "pointer", 0),
                     attrs.getAttributeIntValue("http://schemas.android.com/apk/res-auto", "sectors", 0));
+            setRenderMode(attrs.getAttributeIntValue(
+                    "http://schemas.android.com/apk/res-auto", "renderMode", RENDER_MODE_BITMAP));
         }
     }
 
@@ -137,15 +186,44 @@ public class SimpleWheelView extends View implements View.OnTouchListener {
     @Override
     protected void onDraw(Canvas canvas) {
         super.onDraw(canvas);
-        if (this.wheel == null || this.pointer == null) {
-            createWheel();
-            initSectors();
+        if (this.renderThread != null) {
+            return;
+        }
+        if (this.metrics != null) {
+            this.drawStartNanos = System.nanoTime();
         }
         if (this.wheelBluePrint == null) {
             return;
         }
         canvas.drawColor(Color.TRANSPARENT, PorterDuff.Mode.CLEAR);
 
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q
+                && this.wheelLayer != null
+                && canvas.isHardwareAccelerated()
+                && (isVectorRendering() || this.wheel != null)) {
+            drawWheelLayer(canvas);
+            return;
+        }
+        if (isVectorRendering()) {
+            this.vectorRenderer.setColorFilter(this.canSpin ? null : this.cf);
+            this.vectorRenderer.drawWheel(
+                    canvas,
+                    this.wheelLeft,
+                    this.wheelTop,
+                    this.engine.getRotationAngle(),
+                    this.wheelCenterX,
+                    this.wheelCenterY);
+            return;
+        }
+        if (this.wheel == null) {
+            canvas.drawCircle(
+                    this.wheelCenterX,
+                    this.wheelCenterY,
+                    this.wheelBluePrint.radius,
+                    this.placeholderPaint);
+            return;
+        }
+
         if (!this.canSpin) {
             this.paint.setColorFilter(this.cf);
         }
@@ -159,14 +237,69 @@ public class SimpleWheelView extends View implements View.OnTouchListener {
         }
     }
 
+    @RequiresApi(api = Build.VERSION_CODES.Q)
+    private void drawWheelLayer(Canvas canvas) {
+        if (this.wheelLayer.isDirty()) {
+            this.wheelLayer.record(this::drawWheelContent);
+        }
+        this.wheelLayer.setColorFilter(this.canSpin ? null : this.cf);
+        this.wheelLayer.draw(canvas, this.engine.getRotationAngle());
+    }
+
+    private void drawWheelContent(Canvas canvas) {
+        if (isVectorRendering()) {
+            this.vectorRenderer.setColorFilter(null);
+            this.vectorRenderer.drawWheel(canvas, 0, 0, 0, 0, 0);
+            return;
+        }
+        canvas.drawBitmap(this.wheel, 0, 0, this.paint);
+        if (this.sectors != null) {
+            canvas.drawBitmap(this.sectors, 0, 0, this.paint);
+        }
+    }
+
+    private void invalidateWheelLayer() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q && this.wheelLayer != null) {
+            this.wheelLayer.invalidate();
+        }
+    }
+
     @Override
     protected void dispatchDraw(Canvas canvas) {
         super.dispatchDraw(canvas);
-        canvas.drawBitmap(this.pointer, this.pointerMatrix, this.paint);
+        if (this.renderThread != null) {
+            return;
+        }
+        if (isVectorRendering()) {
+            if (this.wheelBluePrint != null) {
+                this.vectorRenderer.drawPointer(canvas, this.pointerMatrix);
+            }
+        } else if (this.pointer != null) {
+            canvas.drawBitmap(this.pointer, this.pointerMatrix, this.paint);
+        }
 
         if (this.centerText != null) {
             canvas.drawText(this.centerText, this.centerTextX, this.centerTextY, this.textPaint);
         }
+        if (this.metrics != null && this.drawStartNanos != 0) {
+            this.metrics.recordDraw(System.nanoTime() - this.drawStartNanos);
+            this.drawStartNanos = 0;
+        }
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        if (this.metrics != null) {
+            this.metrics.setFrameIntervalNanos(getFrameIntervalNanos());
+            attachFrameMetrics();
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        detachFrameMetrics();
+        super.onDetachedFromWindow();
     }
 
     @Override
@@ -192,7 +325,7 @@ public class SimpleWheelView extends View implements View.OnTouchListener {
     public void setEnabled(boolean enabled) {
         super.setEnabled(enabled);
         this.canSpin = enabled;
-        invalidate();
+        redraw();
     }
 
     private int measureDimension(int desiredSize, int measureSpec) {
@@ -225,7 +358,7 @@ public class SimpleWheelView extends View implements View.OnTouchListener {
         int pointerHeight = pointerWidth << 1;
 
         if (this.wheelBluePrint == null || this.pointerBluePrint == null) {
-            this.wheelBluePrint = new Wheel(wheelRad, wheelCenterRadius, sectorCount);
+            this.wheelBluePrint = new Wheel(wheelRad, wheelCenterRadius, this.engine.getSectors());
             this.pointerBluePrint = new Pointer(pointerWidth, pointerHeight);
         } else if (width != oldw || height != oldh) {
             this.wheelBluePrint.radius = wheelRad;
@@ -242,59 +375,110 @@ public class SimpleWheelView extends View implements View.OnTouchListener {
         this.pointerLeft = this.wheelCenterX - (this.pointerBluePrint.width >> 1);
         this.pointerTop = this.wheelTop - (this.pointerBluePrint.height - this.pointerBluePrint.width);
 
-        updateWheelPosition();
-        updatePointerPosition();
+        synchronized (this.engine) {
+            this.engine.setCenter(this.wheelCenterX, this.wheelCenterY);
+            this.engine.setRadii(this.wheelBluePrint.radius, this.wheelBluePrint.centerRadius);
+            updateWheelPosition();
+            updatePointerPosition();
+        }
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q && this.wheelLayer != null) {
+            this.wheelLayer.setPosition(this.wheelLeft, this.wheelTop, this.wheelBluePrint.radius << 1);
+        }
+        if (width != oldw || height != oldh) {
+            invalidateWheelLayer();
+            requestAssets();
+        }
+        if (this.renderThread != null) {
+            publishState();
+        }
     }
 
-    private void init(int wheelRes, int pointerRes, int sectors) {
+    void init(int wheelRes, int pointerRes, int sectors) {
         if (wheelRes == 0 || pointerRes == 0 || sectors == 0) return;
 
-        this.wheelRes = wheelRes;
-        this.pointerRes = pointerRes;
-
-        BitmapFactory.Options opt = new BitmapFactory.Options();
-        opt.inJustDecodeBounds = true;
-
-        BitmapFactory.decodeResource(getResources(), wheelRes, opt);
-        this.wheelBluePrint = new Wheel(opt.outWidth >> 1, opt.outWidth >> 3, sectors);
+        //sizes follow the view in onSizeChanged, the artwork is decoded at that size later
+        this.wheelBluePrint = new Wheel(0, 0, sectors);
+        this.pointerBluePrint = new Pointer(0, 0);
+        setAssets(WheelAsset.fromResource(wheelRes), WheelAsset.fromResource(pointerRes));
+    }
 
-        BitmapFactory.decodeResource(getResources(), pointerRes, opt);
-        this.pointerBluePrint = new Pointer(opt.outWidth, opt.outHeight);
+    //custom wheel and pointer artwork from resources, files, content uris or streams, null for the drawn wheel
+    public void setAssets(@Nullable WheelAsset wheelAsset, @Nullable WheelAsset pointerAsset) {
+        this.wheelAsset = wheelAsset;
+        this.pointerAsset = pointerAsset;
+        requestAssets();
     }
 
     private void init() {
         this.canSpin = true;
-        this.win = NONE;
+        this.diskCache = true;
+        this.outcomeSource = OutcomeSources.fast();
         this.gestureDetector = createGestureDetector();
+        this.frameDriver = new WheelFrameDriver(this, this.engine);
+        this.prerenderer = new WheelPrerenderer(getContext());
+        this.vectorRenderer = new VectorWheelRenderer();
 
-        setSectors(new Random().nextInt(17)+5);
+        setSectors(this.outcomeSource.nextInt(17)+5);
         initPaint();
         initMatrix();
         initTextPaint();
         initColorFilter();
-        initBitmapOptions();
         this.setOnTouchListener(this);
-        setLayerType(LAYER_TYPE_HARDWARE, null);
+
+        //on Q+ only the static wheel gets a layer, rotated by the render thread
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            this.wheelLayer = new WheelLayer();
+        } else {
+            setLayerType(LAYER_TYPE_HARDWARE, null);
+        }
     }
 
     private void initPaint() {
-        this.paint = new Paint(
+        this.paint = createBitmapPaint();
+        this.placeholderPaint = createPlaceholderPaint();
+    }
+
+    private void initTextPaint() {
+        this.textPaint = createTextPaint();
+    }
+
+    //the render thread of the surface backend draws with paints of its own made here
+    static Paint createBitmapPaint() {
+        Paint paint = new Paint(
                 Paint.ANTI_ALIAS_FLAG
                         | Paint.FILTER_BITMAP_FLAG
                         | Paint.DITHER_FLAG);
 
-        this.paint.setAntiAlias(true);
+        paint.setAntiAlias(true);
+        return paint;
     }
 
-    private void initTextPaint() {
-        this.textPaint = new Paint(
+    static Paint createPlaceholderPaint() {
+        Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        paint.setColor(Color.LTGRAY);
+        paint.setStyle(Paint.Style.STROKE);
+        paint.setStrokeWidth(5);
+        return paint;
+    }
+
+    static Paint createTextPaint() {
+        Paint paint = new Paint(
                 Paint.ANTI_ALIAS_FLAG
                         | Paint.SUBPIXEL_TEXT_FLAG
                         | Paint.LINEAR_TEXT_FLAG);
 
-        this.textPaint.setAntiAlias(true);
-        this.textPaint.setColor(Color.BLACK);
-        this.textPaint.setTextSize(27);
+        paint.setAntiAlias(true);
+        paint.setColor(Color.BLACK);
+        paint.setTextSize(27);
+        paint.setTextAlign(Paint.Align.CENTER);
+        return paint;
+    }
+
+    static ColorMatrixColorFilter createGreyFilter() {
+        ColorMatrix cm = new ColorMatrix();
+        cm.setSaturation(0f);
+        return new ColorMatrixColorFilter(cm);
     }
 
     private void initMatrix() {
@@ -303,156 +487,56 @@ public class SimpleWheelView extends View implements View.OnTouchListener {
     }
 
     private void initColorFilter() {
-        ColorMatrix cm = new ColorMatrix();
-        cm.setSaturation(0f);
-        this.cf = new ColorMatrixColorFilter(cm);
-    }
-
-    private void initBitmapOptions() {
-        this.opt = new BitmapFactory.Options();
-        this.opt.inMutable = true;
-        this.opt.inScaled = false;
-        this.opt.inPreferredConfig = Bitmap.Config.ARGB_8888;
+        this.cf = createGreyFilter();
     }
 
     public void initSectors() {
-        if (this.sectors != null) {
-            this.sectors.recycle();
-        }
-        this.sectors = createSectors();
+        requestAssets();
     }
 
-    private void createWheel() {
-        if (wheel != null && !wheel.isRecycled()){
-            wheel.recycle();
+    private void requestAssets() {
+        if (this.wheelBluePrint == null || this.pointerBluePrint == null || this.wheelBluePrint.radius <= 0) {
+            return;
         }
+        if (isVectorRendering()) {
+            this.prerenderer.cancel();
+            releaseBitmaps();
+            this.vectorRenderer.update(this.wheelBluePrint, this.pointerBluePrint, this.engine.getSectorLayout());
+            invalidateWheelLayer();
+            redraw();
+            return;
+        }
+        WheelRenderSpec spec = new WheelRenderSpec(
+                this.wheelBluePrint,
+                this.pointerBluePrint,
+                this.wheelAsset,
+                this.pointerAsset,
+                WheelRenderSpec.NUMERIC_LABELS,
+                this.engine.getSectorLayout(),
+                this.memoryMode,
+                this.diskCache);
+
+        this.prerenderer.request(spec, this::onAssetsReady);
+    }
 
-        if (this.wheelRes != 0 && this.pointerRes != 0) {
-            Bitmap tmp = BitmapFactory.decodeResource(getResources(), this.wheelRes, this.opt);
-            this.wheel = Bitmap.createScaledBitmap(
-                    tmp,
-                    this.wheelBluePrint.radius << 1,
-                    this.wheelBluePrint.radius << 1,
-                    true);
-
-            if (!tmp.isRecycled()) {
-                tmp.recycle();
-            }
-            tmp = BitmapFactory.decodeResource(getResources(), this.pointerRes, this.opt);
-            this.pointer = Bitmap.createScaledBitmap(
-                    tmp,
-                    this.pointerBluePrint.width,
-                    this.pointerBluePrint.height,
-                    true);
-
-            if (!tmp.isRecycled()) {
-                tmp.recycle();
-            }
-        } else {
-            this.wheel = Bitmap.createBitmap(
-                    this.wheelBluePrint.radius << 1,
-                    this.wheelBluePrint.radius << 1,
-                    Bitmap.Config.ARGB_8888);
-
-            Canvas canvas = new Canvas(this.wheel);
-
-            int centerX = this.wheelBluePrint.radius;
-            int centerY = this.wheelBluePrint.radius;
-
-            this.paint.setColor(Color.RED);
-            this.paint.setStrokeWidth(5);
-            canvas.drawCircle(
-                    centerX,
-                    centerY,
-                    this.wheelBluePrint.radius,
-                    this.paint);
+    private void onAssetsReady(Bitmap wheel, Bitmap pointer, Bitmap sectors) {
+        releaseBitmaps();
+        this.wheel = wheel;
+        this.pointer = pointer;
+        this.sectors = sectors;
+        invalidateWheelLayer();
+        redraw();
+    }
 
-            this.paint.setColor(Color.LTGRAY);
-            canvas.drawCircle(
-                    centerX,
-                    centerY,
-                    this.wheelBluePrint.radius - this.paint.getStrokeWidth(),
-                    this.paint);
-
-            this.paint.setColor(Color.RED);
-            canvas.rotate(
-                    (FULL_ROTATION_ANGLE_FLOAT / this.wheelBluePrint.sectors) / 2f,
-                    centerX,
-                    centerY);
-
-            for (int i = 0; i < this.wheelBluePrint.sectors; i++) {
-                canvas.drawLine(
-                        centerX,
-                        0,
-                        centerX,
-                        centerY - this.wheelBluePrint.centerRadius,
-                        paint);
-
-                canvas.rotate(360f / wheelBluePrint.sectors, centerX, centerY);
-            }
-            this.paint.setColor(Color.YELLOW);
-            canvas.drawCircle(centerX, centerY, wheelBluePrint.centerRadius, paint);
-
-            this.paint.setColor(Color.GREEN);
-            this.pointer = Bitmap.createBitmap(
-                    this.pointerBluePrint.width,
-                    this.pointerBluePrint.height,
-                    Bitmap.Config.ARGB_8888);
-
-            canvas = new Canvas(this.pointer);
-            canvas.drawLine(
-                    this.pointer.getWidth(),
-                    0,
-                    this.pointer.getWidth() >> 1,
-                    this.pointer.getHeight(),
-                    this.paint);
-
-            canvas.drawLine(
-                    0,
-                    0,
-                    this.pointer.getWidth() >> 1,
-                    this.pointer.getHeight(),
-                    paint);
-
-            canvas.drawLine(0, 0, pointer.getWidth(), 0, this.paint);
-        }
-    }
-
-    private Bitmap createSectors() {
-        this.sectors = Bitmap.createBitmap(
-                this.wheel.getWidth(),
-                this.wheel.getHeight(),
-                Bitmap.Config.ARGB_8888);
-
-        Canvas wheelCanvas = new Canvas(this.sectors);
-        int margin = wheelCanvas.getHeight() >> 4;
-        float angle = 360f / this.wheelBluePrint.sectors;
-        int dstWidth = Double.valueOf(
-                Math.PI * this.wheel.getWidth()).intValue() / (this.wheelBluePrint.sectors << 1);
-
-        int dstStart = (wheelCanvas.getWidth() >> 1) - (dstWidth >> 1);
-        int dstBottom = margin + dstWidth;
-
-        this.textPaint.setTextSize(dstWidth);
-        this.textPaint.setTextAlign(Paint.Align.CENTER);
-
-        for (int i = 0; i < this.wheelBluePrint.sectors; i++) {
-            String text = Integer.toString(this.sectorCount - i);
-
-            wheelCanvas.drawText(
-                    text,
-                    0,
-                    text.length(),
-                    dstStart + (dstWidth >> 1),
-                    dstBottom,
-                    this.textPaint);
-
-            wheelCanvas.rotate(angle, wheelCanvas.getWidth() >> 1, wheelCanvas.getHeight() >> 1);
-        }
-        wheelCanvas.rotate(90f, wheelCanvas.getWidth() >> 1, wheelCanvas.getHeight() >> 1);
-        this.textPaint.setTextSize(this.centerTextSize);
-        invalidate();
-        return this.sectors;
+    //states published to the surface backend hold references of their own
+    private void releaseBitmaps() {
+        WheelBitmapCache cache = WheelBitmapCache.getInstance();
+        cache.release(this.wheel);
+        cache.release(this.pointer);
+        cache.release(this.sectors);
+        this.wheel = null;
+        this.pointer = null;
+        this.sectors = null;
     }
 
     private GestureDetector createGestureDetector() {
@@ -468,6 +552,7 @@ public class SimpleWheelView extends View implements View.OnTouchListener {
 
             @Override
             public boolean onSingleTapUp(MotionEvent e) {
+                dispatchSectorTouch(e, false);
                 return false;
             }
 
@@ -478,15 +563,17 @@ public class SimpleWheelView extends View implements View.OnTouchListener {
 
             @Override
             public void onLongPress(MotionEvent e) {
+                dispatchSectorTouch(e, true);
             }
 
+            //velocities come from the detector's VelocityTracker
             @Override
             public boolean onFling(MotionEvent e1, MotionEvent e2, float velocityX, float velocityY) {
-
-                if (velocityX > 2000 || velocityY > 2000) {
-                    spin(direction);
-                    return false;
-                }
+                fling(TouchAngles.angularVelocity(
+                        e2.getX() - engine.getCenterX(),
+                        e2.getY() - engine.getCenterY(),
+                        velocityX,
+                        velocityY));
                 return false;
             }
         });
@@ -497,195 +584,177 @@ public class SimpleWheelView extends View implements View.OnTouchListener {
         this.centerTextY = this.wheelCenterY + Math.round(this.centerTextSize / 3f);
     }
 
-    private void startRewardAnimation() {
-        final int rewardAngle = (this.direction < 0 ? win : 360 - win) + 360 * FULL_ROTATIONS_FOR_REWARD;
-        updatePointerPosition();
+    void onEngineFrame(int previousPhase, int phase) {
+        updateWheelPosition();
+        applyPointerAngle();
+        dispatchEngineEvents(previousPhase, phase, this.engine.getCrossings());
+        redraw();
+    }
 
-        if (this.rewardAnimator == null) {
-            this.rewardAnimator = ValueAnimator.ofInt(0, rewardAngle);
-        } else {
-            this.rewardAnimator.setIntValues(0, rewardAngle);
+    //frames the surface backend stepped since the last call, crossings of all of them together
+    void onRenderedFrames(int previousPhase, int phase, SectorCrossings crossings) {
+        dispatchEngineEvents(previousPhase, phase, crossings);
+    }
+
+    private void dispatchEngineEvents(int previousPhase, int phase, SectorCrossings crossings) {
+        if (crossings.getCount() > 0 && this.sectorCrossingListener != null && this.sectorCrossingListener.get() != null) {
+            this.sectorCrossingListener.get().onSectorCrossings(crossings);
         }
-        this.pointerDirection = this.direction;
-        this.rewardAnimator.setDuration(DEFAULT_SHORT_ANIMATION_DURATION * FULL_ROTATIONS_FOR_REWARD);
-        this.rewardAnimator.setInterpolator(new DecelerateInterpolator());
-        this.rewardAnimator.addListener(new Animator.AnimatorListener() {
 
-            @Override
-            public void onAnimationStart(Animator animation) {
+        if (WheelEngine.isSpinningPhase(previousPhase) && !WheelEngine.isSpinningPhase(phase)) {
+            if (this.listener != null && this.listener.get() != null) {
+                this.listener.get().onWheelStop(this.engine.getStopSector());
             }
+            if (this.metrics != null && this.metricsListener != null && this.metricsListener.get() != null) {
+                this.metricsListener.get().onMetrics(getMetricsSnapshot());
+            }
+            setEnabled(false);
+        }
+    }
 
-            @Override
-            public void onAnimationEnd(Animator animation) {
-                updateWheelPosition();
-                startPointerAnimation();
+    private void handleActionDown(MotionEvent event) {
+        synchronized (this.engine) {
+            this.engine.touchDown(event.getX(), event.getY());
+        }
+    }
 
-                if (listener != null && listener.get() != null) {
-                    listener.get().onWheelStop(wheelBluePrint.sectors - Math.round(win / degreesSector));
-                }
-                setEnabled(false);
-            }
+    private void dispatchSectorTouch(MotionEvent event, boolean longPress) {
+        OnSectorTouchListener listener = this.sectorTouchListener != null ? this.sectorTouchListener.get() : null;
+        if (listener == null) {
+            return;
+        }
+        int sector;
+        synchronized (this.engine) {
+            sector = this.engine.hitTest(event.getX(), event.getY());
+        }
+        if (sector == WheelEngine.NONE) {
+            return;
+        }
+        if (longPress) {
+            listener.onSectorLongPress(sector);
+        } else {
+            listener.onSectorTap(sector);
+        }
+    }
 
-            @Override
-            public void onAnimationCancel(Animator animation) {
-            }
+    //batched samples since the last move first, then the current position
+    void handleActionMove(MotionEvent event) {
+        float resultAngle = 0;
+        int historySize = event.getHistorySize();
 
-            @Override
-            public void onAnimationRepeat(Animator animation) {
+        synchronized (this.engine) {
+            for (int i = 0; i < historySize; i++) {
+                resultAngle += this.engine.dragStep(event.getHistoricalX(i), event.getHistoricalY(i));
             }
-        });
-        this.rewardAnimator.addUpdateListener(animation -> {
-            int value = (int) animation.getAnimatedValue();
-            rotationAngle = value * direction * -1;
+            resultAngle += this.engine.dragStep(event.getX(), event.getY());
+            this.engine.commitDrag(resultAngle);
             updateWheelPosition();
             updatePointerPosition();
-            invalidate();
-        });
-        this.rewardAnimator.start();
-    }
-
-    private void startPointerAnimation() {
-        if (this.pointerAnimator == null) {
-            this.pointerAnimator = ValueAnimator.ofFloat(1f, 0).setDuration(POINTER_ANIMATION_DURATION);
         }
-        this.pointerAnimator.addUpdateListener(animation -> {
-            float value = (float) animation.getAnimatedValue();
-            pointerMatrix.reset();
-            pointerMatrix.setTranslate(pointerLeft, pointerTop);
-            pointerMatrix.postRotate(
-                    POINTER_ANIMATION_ANGLE_ON_WHEEL_STOP * value * pointerDirection,
-                    wheelCenterX,
-                    pointerTop);
+        redraw();
+    }
 
+    private void redraw() {
+        if (this.renderThread != null) {
+            publishState();
+        } else {
             invalidate();
-        });
-        this.pointerAnimator.setInterpolator(new AccelerateInterpolator());
-        this.pointerAnimator.start();
+        }
     }
 
-    private void handleActionDown(MotionEvent event) {
-        this.startAngle = calculateAngle(event.getX(), event.getY());
-
-        //for handling sector touch events
-        {
-            float sectorTouched =
-                    (360f + startSector * degreesSector + rotationAngle)
-                            - (startAngle + degreesSector / 2f);
-
-            int sector = (int) (formatAngle(sectorTouched) / degreesSector);
+    //the surface backend draws only from this copy, nothing it reads is shared with the UI thread
+    private void publishState() {
+        WheelStateBuffer buffer = this.renderThread.getState();
+        WheelStateBuffer.State state = buffer.edit();
+        synchronized (this.engine) {
+            state.rotation = this.engine.getRotationAngle();
+            state.pointerAngle = this.engine.getPointerAngle();
+            state.engineFrame = this.renderThread.getEngineFrame();
+            state.layout = this.engine.getSectorLayout();
         }
+        boolean measured = this.wheelBluePrint != null && this.pointerBluePrint != null;
+        state.greyed = !this.canSpin;
+        state.vector = isVectorRendering();
+        state.radius = measured ? this.wheelBluePrint.radius : 0;
+        state.centerRadius = measured ? this.wheelBluePrint.centerRadius : 0;
+        state.sectors = measured ? this.wheelBluePrint.sectors : 0;
+        state.pointerWidth = measured ? this.pointerBluePrint.width : 0;
+        state.pointerHeight = measured ? this.pointerBluePrint.height : 0;
+        state.wheelLeft = this.wheelLeft;
+        state.wheelTop = this.wheelTop;
+        state.wheelCenterX = this.wheelCenterX;
+        state.wheelCenterY = this.wheelCenterY;
+        state.pointerLeft = this.pointerLeft;
+        state.pointerTop = this.pointerTop;
+        state.centerText = this.centerText;
+        state.centerTextX = this.centerTextX;
+        state.centerTextY = this.centerTextY;
+        state.centerTextSize = this.centerTextSize;
+        state.setBitmaps(this.wheel, this.pointer, this.sectors);
+        buffer.publish();
+        this.renderThread.requestFrame();
     }
 
-    private void handleActionMove(MotionEvent event) {
-        float resultAngle = 0;
-
-        for (int i = 0; i < event.getHistorySize(); i++) {
-            float currentAngle = calculateAngle(event.getHistoricalX(i), event.getHistoricalY(i));
-            resultAngle += currentAngle - startAngle;
-            this.startAngle = currentAngle;
-        }
-        this.rotationAngle = formatAngle(resultAngle + rotationAngle);
-        updateWheelPosition();
+    //the surface backend steps it on its render thread, callers hold its monitor there
+    WheelEngine getEngine() {
+        return this.engine;
+    }
 
-        if (resultAngle != 0) {
-            this.direction = Float.valueOf(Math.signum(resultAngle) * -1).intValue();
-            if (!this.onPointer) {
-                this.pointerDirection = this.direction;
-            }
+    //the surface backend steps and draws on its own thread, the view then only handles touch and publishes state
+    void setRenderThread(@Nullable WheelRenderThread renderThread) {
+        this.renderThread = renderThread;
+        if (renderThread != null) {
+            detachFrameMetrics();
+            setLayerType(LAYER_TYPE_NONE, null);
+            renderThread.setMetrics(this.metrics);
+            publishState();
         }
-        updatePointerPosition();
-        this.invalidate();
     }
 
     private void updateWheelPosition() {
         this.wheelMatrix.reset();
         this.wheelMatrix.setTranslate(this.wheelLeft, this.wheelTop);
-        this.wheelMatrix.postRotate(this.rotationAngle, this.wheelCenterX, this.wheelCenterY);
+        this.wheelMatrix.postRotate(this.engine.getRotationAngle(), this.wheelCenterX, this.wheelCenterY);
     }
 
     private void updatePointerPosition() {
-        float speedBonusAngle = (isSpinning()) ? 38 : 0;
-        float speedAmplitude = (isSpinning()) ? 0 : 30;
+        this.engine.updatePointer(isSpinning());
+        applyPointerAngle();
+    }
 
+    private void applyPointerAngle() {
         this.pointerMatrix.reset();
         this.pointerMatrix.setTranslate(this.pointerLeft, this.pointerTop);
-        this.pointerMatrix.postRotate(
-                speedBonusAngle * this.pointerDirection,
-                this.wheelCenterX,
-                this.pointerTop);
-
-        float angle = Math.abs(this.rotationAngle) % degreesSector;
-        float halfSector = degreesSector / 2;
-        float rightBoundary = isSpinning() ? halfSector + 4f : halfSector + 8f;
-        float leftBoundary = isSpinning() ? halfSector - 4f : halfSector - 8f;
-
-        if (angle > leftBoundary && angle < rightBoundary) {
-            this.onPointer = true;
-            float pointerStartAngle;
-
-            if (this.pointerDirection > 0) {
-                pointerStartAngle = leftBoundary;
-            } else {
-                pointerStartAngle = rightBoundary;
-            }
-            float maxAngleDiff = Math.abs(rightBoundary - leftBoundary);
-            float angleDiff = Math.abs(pointerStartAngle - angle);
-            float angleCoef = angleDiff / maxAngleDiff;
-            float pointerRotationAngle =
-                    ((1 - angleCoef) * (POINTER_INCLINATION_ANGLE_CONST * (maxAngleDiff - angleDiff)
-                            + angleCoef * speedAmplitude) * this.pointerDirection);
-
-            this.pointerMatrix.postRotate(pointerRotationAngle, this.wheelCenterX, this.pointerTop);
-        } else {
-            this.onPointer = false;
-        }
+        this.pointerMatrix.postRotate(this.engine.getPointerAngle(), this.wheelCenterX, this.pointerTop);
     }
 
-    private float formatAngle(float angle) {
-        if (angle >= FULL_ROTATION_ANGLE_FLOAT) {
-            angle %= FULL_ROTATION_ANGLE_FLOAT;
-        } else if (angle < 0) {
-            angle = angle % FULL_ROTATION_ANGLE_FLOAT + FULL_ROTATION_ANGLE_FLOAT;
+    public boolean isSpinning() {
+        synchronized (this.engine) {
+            return this.engine.isSpinning();
         }
-        return angle;
     }
 
-    private double calculateRadius(float x, float y) {
-        float deltaX = Math.round(x) - this.wheelCenterX;
-        float deltaY = Math.round(y) - this.wheelCenterY;
-        return Math.sqrt(deltaX * deltaX + deltaY * deltaY);
+    public void setWin(int sector) {
+        synchronized (this.engine) {
+            this.engine.setWin(sector);
+        }
+        Toast.makeText(
+                getContext(),
+                "Win sector: " + (sector != 0 ? sector : this.engine.getSectors()),
+                Toast.LENGTH_SHORT)
+                .show();
     }
 
-    private float calculateAngle(float x, float y) {
-        double effectiveRadius = calculateRadius(x, y);
-        if (effectiveRadius == 0) {
-            return 0f;
-        }
-        double cosine = (Math.round(x) - Math.round(this.wheelCenterX)) / effectiveRadius;
-        double sign = 1.0;
-        double normalizer = 0.0;
-        if (y < this.wheelCenterY) {
-            sign = -1.0;
-            normalizer = 360.0;
-        }
-        double rads = Math.acos(cosine);
-        double rotation = Math.toDegrees(rads);
-        return Double.valueOf(normalizer + rotation * sign).floatValue();
+    public void setOnSectorTouchListener(OnSectorTouchListener listener) {
+        this.sectorTouchListener = new WeakReference<>(listener);
     }
 
-    public boolean isSpinning() {
-        return this.spinAnimator != null
-                && this.spinAnimator.isRunning() || this.rewardAnimator != null
-                && this.rewardAnimator.isRunning();
+    public void setOnSectorCrossingListener(OnSectorCrossingListener listener) {
+        this.sectorCrossingListener = new WeakReference<>(listener);
     }
 
-    public void setWin(int sector) {
-        this.win = Math.round(degreesSector * sector);
-        Toast.makeText(
-                getContext(),
-                "Win sector: " + (sector != 0 ? sector : sectorCount),
-                Toast.LENGTH_SHORT)
-                .show();
+    public void setOnMetricsListener(OnMetricsListener listener) {
+        this.metricsListener = new WeakReference<>(listener);
     }
 
     public void setListener(OnWheelEventListener listener) {
@@ -694,64 +763,397 @@ public class SimpleWheelView extends View implements View.OnTouchListener {
 
     //sets initial sector
     public void setStartSector(int sector) {
-        this.startSector = sector;
-        if (this.rotationAngle == 0) {
-            this.rotationAngle = FULL_ROTATION_ANGLE_FLOAT - (FULL_ROTATION_ANGLE_FLOAT / wheelBluePrint.sectors) * sector;
+        synchronized (this.engine) {
+            this.engine.setStartSector(sector);
+            updateWheelPosition();
         }
-        updateWheelPosition();
-        invalidate();
+        redraw();
     }
 
     public void setCenterText(String centerText) {
-        if (centerText == null || centerText.isEmpty() || this.wheel == null) return;
+        if (centerText == null || centerText.isEmpty() || this.wheelBluePrint == null) return;
 
-        this.centerTextSize = this.wheel.getHeight() / 5;
+        this.centerTextSize = (this.wheelBluePrint.radius << 1) / 5;
         this.textPaint.setTextSize(this.centerTextSize);
         this.centerText = centerText;
         setCenterTextPosition();
-        invalidate();
+        redraw();
     }
 
     public void reset() {
-        this.win = NONE;
+        synchronized (this.engine) {
+            this.engine.resetWin();
+        }
     }
 
     public void spin(int rotationDirection) {
-        postDelayed(() -> setWin(new Random().nextInt(sectorCount)),
-                new Random().nextInt(1000));
+        if (this.outcomeProvider == null && this.deterministicLanding) {
+            spinToSector(drawSector(this.outcomeSource), rotationDirection);
+            return;
+        }
+        startSpin(rotationDirection);
+        synchronized (this.engine) {
+            this.engine.startSpin();
+        }
+        startFrames();
+        requestWin();
+    }
+
+    /**
+     * Spins with the momentum of a gesture, speed and duration follow the angular velocity.
+     * Flings slower than a minimum are ignored.
+     *
+     * @param angularVelocity degrees per second, positive clockwise
+     */
+    public void fling(float angularVelocity) {
+        if (Math.abs(angularVelocity) < MIN_FLING_DEGREES_PER_SECOND) {
+            return;
+        }
+        startSpin(angularVelocity < 0 ? 1 : -1);
+        synchronized (this.engine) {
+            this.engine.startFling(angularVelocity);
+        }
+        startFrames();
+
+        if (this.outcomeProvider == null && this.deterministicLanding) {
+            setWin(drawSector(this.outcomeSource));
+        } else {
+            requestWin();
+        }
+    }
+
+    private void requestWin() {
+        if (this.outcomeProvider != null) {
+            requestProviderOutcome();
+        } else {
+            postDelayed(this.delayedWin, this.outcomeSource.nextInt(1000));
+        }
+    }
+
+    private void drawDelayedWin() {
+        setWin(drawSector(this.outcomeSource));
+    }
+
+    //weighted sectors are drawn in proportion to their weight
+    int drawSector(OutcomeSource source) {
+        SectorLayout layout = this.engine.getSectorLayout();
+        return layout != null ? layout.pick(source) : source.nextInt(this.engine.getSectors());
+    }
+
+    //the wheel keeps going until the provider answers, the win then ends the spin
+    private void requestProviderOutcome() {
+        final int request = ++this.outcomeRequest;
+        final int sectors = this.engine.getSectors();
+
+        removeCallbacks(this.outcomeTimeout);
+        postDelayed(this.outcomeTimeout, this.outcomeTimeoutMillis);
+        this.outcomeCallback = new OutcomeProvider.Callback() {
+            @Override
+            public void onOutcome(int sector) {
+                post(() -> deliverOutcome(request, sectors, sector));
+            }
 
-        if (rotationDirection != WHEEL_LAST_DIRECTION) {
-            this.direction = rotationDirection;
+            @Override
+            public void onError(Throwable error) {
+                //a cancelled request was already answered by the fallback
+                if (!(error instanceof CancellationException)) {
+                    Log.w(SimpleWheelView.class.getSimpleName(), "Outcome request failed, using the fallback", error);
+                }
+                post(() -> deliverOutcome(request, sectors, WheelEngine.NONE));
+            }
+        };
+        this.outcomeProvider.requestOutcome(sectors, this.outcomeCallback);
+    }
+
+    private void deliverOutcome(int request, int sectors, int sector) {
+        if (request != this.outcomeRequest) {
+            return;
+        }
+        this.outcomeRequest++;
+        this.outcomeCallback = null;
+        removeCallbacks(this.outcomeTimeout);
+
+        if (sectors != this.engine.getSectors() || sector < 0 || sector >= sectors) {
+            sector = fallbackOutcome();
+        }
+        setWin(sector);
+    }
+
+    private void onOutcomeTimeout() {
+        this.outcomeRequest++;
+        //the provider may keep the late answer for the next spin
+        OutcomeProvider.Callback callback = this.outcomeCallback;
+        this.outcomeCallback = null;
+        if (callback != null && this.outcomeProvider != null) {
+            this.outcomeProvider.cancel(callback);
+        }
+        setWin(fallbackOutcome());
+    }
+
+    private int fallbackOutcome() {
+        OutcomeSource fallback = this.outcomeFallback != null ? this.outcomeFallback : this.outcomeSource;
+        return drawSector(fallback);
+    }
+
+    //lands on the sector in a single precomputed run, numbering as in setWin
+    public void spinToSector(int sector, int rotationDirection) {
+        startSpin(rotationDirection);
+        setWin(sector);
+
+        long frameIntervalNanos = getFrameIntervalNanos();
+        synchronized (this.engine) {
+            if (this.precomputedPlayback) {
+                this.timeline = this.engine.recordLanding(sector, frameIntervalNanos, new SpinTimeline());
+                this.engine.startPlayback(this.timeline);
+            } else {
+                this.engine.startLanding(sector);
+            }
+        }
+        startFrames();
+    }
+
+    //a wheel of a reel spins until the reel sets its win, nothing is drawn or requested here
+    void spinForReel(int rotationDirection) {
+        startSpin(rotationDirection);
+        synchronized (this.engine) {
+            this.engine.startSpin();
+        }
+        startFrames();
+    }
+
+    void setReelWin(int sector) {
+        synchronized (this.engine) {
+            this.engine.setWin(sector);
+        }
+    }
+
+    //lands like spinToSector, in the given time and without announcing the win
+    void landForReel(int sector, int rotationDirection, long durationNanos) {
+        startSpin(rotationDirection);
+        synchronized (this.engine) {
+            this.engine.startLanding(sector, durationNanos);
+        }
+        startFrames();
+    }
+
+    void setFrameClock(WheelFrameClock clock) {
+        this.frameDriver.setClock(clock);
+    }
+
+    long getLandingDuration() {
+        return this.engine.getLandingDuration();
+    }
+
+    //plays a recorded spin back frame by frame, the wheel must have the same sector count
+    public void replay(SpinTimeline timeline) {
+        startSpin(timeline.getDirection());
+        this.timeline = timeline;
+        synchronized (this.engine) {
+            this.engine.startPlayback(timeline);
+        }
+        startFrames();
+    }
+
+    private void startFrames() {
+        if (this.renderThread != null) {
+            this.renderThread.startEngine();
+        } else {
+            this.frameDriver.start();
+        }
+    }
+
+    @Nullable
+    public SpinTimeline getLastTimeline() {
+        return this.timeline;
+    }
+
+    private long getFrameIntervalNanos() {
+        Display display = getDisplay();
+        float refreshRate = display != null && display.getRefreshRate() > 0
+                ? display.getRefreshRate()
+                : DEFAULT_REFRESH_RATE;
+        return (long) (TimeUnit.SECONDS.toNanos(1) / refreshRate);
+    }
+
+    private void startSpin(int rotationDirection) {
+        int direction;
+        synchronized (this.engine) {
+            this.engine.prepareSpin(rotationDirection);
+            this.engine.resetWin();
+            direction = this.engine.getDirection();
         }
-        reset();
 
         if (this.listener != null && this.listener.get() != null) {
-            this.listener.get().onWheelSpin(this.direction);
-        }
-        this.pointerDirection = this.direction;
-        updatePointerPosition();
-        this.rotationAngle = formatAngle(this.rotationAngle);
-        this.rotationAngle = Math.round(this.rotationAngle);
-
-        if (this.spinAnimator == null) {
-            this.spinAnimator = ValueAnimator.ofInt(0, 360).setDuration(DEFAULT_SHORT_ANIMATION_DURATION);
-        }
-        this.spinAnimator.setInterpolator(new LinearInterpolator());
-        this.spinAnimator.setRepeatMode(ValueAnimator.RESTART);
-        this.spinAnimator.setRepeatCount(ValueAnimator.INFINITE);
-        this.spinAnimator.addUpdateListener(animation -> {
-            int value = (int) animation.getAnimatedValue();
-            rotationAngle += value * direction * -1;
-            rotationAngle = formatAngle(rotationAngle);
-            updateWheelPosition();
+            this.listener.get().onWheelSpin(direction);
+        }
+        synchronized (this.engine) {
             updatePointerPosition();
-            if ((rotationAngle < 10 || rotationAngle > 350) && win != NONE) {
-                animation.cancel();
-                startRewardAnimation();
+        }
+    }
+
+    /**
+     * Source of the win sector and win delay of {@link #spin(int)}, see {@link OutcomeSources}.
+     * Takes effect from the next draw.
+     */
+    public void setOutcomeSource(@NonNull OutcomeSource outcomeSource) {
+        this.outcomeSource = outcomeSource;
+    }
+
+    public OutcomeSource getOutcomeSource() {
+        return this.outcomeSource;
+    }
+
+    /**
+     * Lets {@link #spin(int)} ask {@code provider} for the win sector; wrap it in a
+     * {@code PrefetchingOutcomeProvider} to have the next answer ready before the next spin.
+     * Failed, malformed or late answers land on a sector drawn from {@code fallback}, or from
+     * the outcome source when it is null. A null provider restores local outcomes.
+     */
+    public void setOutcomeProvider(@Nullable OutcomeProvider provider, long timeoutMillis,
+                                   @Nullable OutcomeSource fallback) {
+        this.outcomeRequest++;
+        removeCallbacks(this.outcomeTimeout);
+        this.outcomeProvider = provider;
+        this.outcomeTimeoutMillis = timeoutMillis;
+        this.outcomeFallback = fallback;
+    }
+
+    public OutcomeProvider getOutcomeProvider() {
+        return this.outcomeProvider;
+    }
+
+    //table approximated touch angles instead of atan2
+    public void setApproximateTouchAngles(boolean approximate) {
+        synchronized (this.engine) {
+            this.engine.setApproximateAngles(approximate);
+        }
+    }
+
+    public void setDeterministicLanding(boolean deterministicLanding) {
+        this.deterministicLanding = deterministicLanding;
+    }
+
+    //deterministic spins are sampled into a timeline up front and only played back per frame
+    public void setPrecomputedPlayback(boolean precomputedPlayback) {
+        this.precomputedPlayback = precomputedPlayback;
+    }
+
+    public void setSpinDuration(long millis) {
+        synchronized (this.engine) {
+            this.engine.setLandingDuration(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+    }
+
+    //vector rendering draws the default wheel from cached paths, custom wheel artwork stays a bitmap
+    public void setRenderMode(int renderMode) {
+        if (this.renderMode == renderMode) {
+            return;
+        }
+        this.renderMode = renderMode;
+        requestAssets();
+        redraw();
+    }
+
+    public int getRenderMode() {
+        return this.renderMode;
+    }
+
+    private boolean isVectorRendering() {
+        return this.renderMode == RENDER_MODE_VECTOR && (this.wheelAsset == null || this.pointerAsset == null);
+    }
+
+    /**
+     * MEMORY_MODE_LOW decodes opaque artwork as RGB_565 and keeps sector labels as ALPHA_8,
+     * MEMORY_MODE_HARDWARE moves finished bitmaps to graphics memory on API 26+.
+     */
+    public void setBitmapMemoryMode(int memoryMode) {
+        if (this.memoryMode == memoryMode) {
+            return;
+        }
+        this.memoryMode = memoryMode;
+        requestAssets();
+    }
+
+    public int getBitmapMemoryMode() {
+        return this.memoryMode;
+    }
+
+    //rendered assets are kept in the app cache directory so the next cold start can skip rendering
+    public void setDiskCacheEnabled(boolean diskCache) {
+        this.diskCache = diskCache;
+    }
+
+    public boolean isDiskCacheEnabled() {
+        return this.diskCache;
+    }
+
+    //bytes of the bitmaps this wheel draws, bitmaps shared with other wheels are counted by each of them
+    public long getBitmapByteCount() {
+        long bytes = 0;
+        if (this.wheel != null) {
+            bytes += this.wheel.getAllocationByteCount();
+        }
+        if (this.pointer != null) {
+            bytes += this.pointer.getAllocationByteCount();
+        }
+        if (this.sectors != null) {
+            bytes += this.sectors.getAllocationByteCount();
+        }
+        return bytes;
+    }
+
+    /**
+     * Records draw and animation tick times, janky and dropped frames and prerender times of
+     * this wheel. Frames are counted from the window's frame metrics on N+ inside an activity
+     * and from the gaps between animation frames otherwise, always from those gaps on the render
+     * thread of a {@link SurfaceWheelView}. Off by default, when off nothing is measured at all.
+     */
+    public void setMetricsEnabled(boolean enabled) {
+        if (enabled == (this.metrics != null)) {
+            return;
+        }
+        if (enabled) {
+            this.metrics = new WheelMetrics(getFrameIntervalNanos());
+            if (isAttachedToWindow()) {
+                attachFrameMetrics();
             }
-            invalidate();
-        });
-        this.spinAnimator.start();
+        } else {
+            detachFrameMetrics();
+            this.metrics = null;
+        }
+        this.frameDriver.setMetrics(this.metrics);
+        this.prerenderer.setMetrics(this.metrics);
+        if (this.renderThread != null) {
+            this.renderThread.setMetrics(this.metrics);
+        }
+    }
+
+    public boolean isMetricsEnabled() {
+        return this.metrics != null;
+    }
+
+    //null while metrics are off
+    @Nullable
+    public WheelMetrics.Snapshot getMetricsSnapshot() {
+        return this.metrics != null ? this.metrics.snapshot(getBitmapByteCount()) : null;
+    }
+
+    //the window's frames are not the surface backend's, its render thread counts the gaps between its own
+    private void attachFrameMetrics() {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.N || this.frameMetrics != null || this.renderThread != null) {
+            return;
+        }
+        WheelFrameMetrics frameMetrics = new WheelFrameMetrics(this.metrics);
+        if (frameMetrics.attach(getContext())) {
+            this.frameMetrics = frameMetrics;
+        }
+    }
+
+    private void detachFrameMetrics() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N && this.frameMetrics != null) {
+            this.frameMetrics.detach();
+            this.frameMetrics = null;
+        }
     }
 
     public int getSectors() {
@@ -759,52 +1161,70 @@ public class SimpleWheelView extends View implements View.OnTouchListener {
     }
 
     public void setSectors(int sectors){
-        this.sectorCount = sectors;
-        this.degreesSector = FULL_ROTATION_ANGLE_FLOAT / sectorCount;
+        synchronized (this.engine) {
+            this.engine.setSectors(sectors);
+        }
 
         if (this.wheelBluePrint == null) {
             return;
         }
         this.wheelBluePrint.sectors = sectors;
-        if (wheel!= null && !wheel.isRecycled()){
-            wheel.recycle();
-            wheel = null;
+        requestAssets();
+        redraw();
+    }
+
+    /**
+     * Gives every sector an arc proportional to its weight, indexed like {@link #setWin(int)}.
+     * Spins drawn by the wheel itself then land on a sector with the same proportion.
+     */
+    public void setSectorWeights(@NonNull float[] weights) {
+        SectorLayout layout = new SectorLayout(weights);
+        synchronized (this.engine) {
+            this.engine.setSectorLayout(layout);
+        }
+
+        if (this.wheelBluePrint == null) {
+            return;
         }
-        invalidate();
+        this.wheelBluePrint.sectors = weights.length;
+        requestAssets();
+        redraw();
     }
 
     public void destroy() {
         animate().cancel();
-
-        if (this.spinAnimator != null) {
-            this.spinAnimator.cancel();
-            this.spinAnimator.removeAllListeners();
-            this.spinAnimator = null;
-        }
-        if (this.rewardAnimator != null) {
-            this.rewardAnimator.cancel();
-            this.rewardAnimator.removeAllListeners();
-            this.rewardAnimator = null;
+        this.frameDriver.stop();
+        synchronized (this.engine) {
+            this.engine.stop();
         }
-        if (this.pointerAnimator != null) {
-            this.pointerAnimator.cancel();
-            this.pointerAnimator.removeAllListeners();
-            this.pointerAnimator = null;
+        this.prerenderer.cancel();
+        this.outcomeRequest++;
+        removeCallbacks(this.outcomeTimeout);
+        removeCallbacks(this.delayedWin);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q && this.wheelLayer != null) {
+            this.wheelLayer.discard();
         }
+
         if (this.listener != null) {
             this.listener.clear();
             this.listener = null;
         }
-        tryRecycleBitmap(this.wheel);
-        tryRecycleBitmap(this.pointer);
-        tryRecycleBitmap(this.sectors);
+        if (this.sectorTouchListener != null) {
+            this.sectorTouchListener.clear();
+            this.sectorTouchListener = null;
+        }
+        if (this.sectorCrossingListener != null) {
+            this.sectorCrossingListener.clear();
+            this.sectorCrossingListener = null;
+        }
+        if (this.metricsListener != null) {
+            this.metricsListener.clear();
+            this.metricsListener = null;
+        }
+        setMetricsEnabled(false);
+        //bitmaps are shared through WheelBitmapCache, other wheels may still draw them
+        releaseBitmaps();
 
         this.gestureDetector = null;
     }
-
-    private void tryRecycleBitmap(Bitmap btm) {
-        if (btm != null && !btm.isRecycled()) {
-            btm.recycle();
-        }
-    }
 }
\ No newline at end of file
@@ -0,0 +1,253 @@
+package com.skolev.simplewheel.view.custom_views.simple_wheel;
+
+import android.content.Context;
+import android.graphics.PixelFormat;
+import android.util.AttributeSet;
+import android.view.SurfaceHolder;
+import android.view.SurfaceView;
+import android.widget.FrameLayout;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.skolev.simplewheel.engine.OutcomeProvider;
+import com.skolev.simplewheel.engine.OutcomeSource;
+import com.skolev.simplewheel.engine.SpinTimeline;
+
+/**
+ * {@link SimpleWheelView} stepped and drawn on a render thread of its own into a
+ * {@link SurfaceView}, so a busy UI thread no longer delays the frames of a spin. Touch and
+ * listeners stay on the UI thread as in {@link SimpleWheelView}, whose API this view mirrors;
+ * the UI thread only starts spins, sets wins and drags, animation, drawing and composition
+ * happen without it.
+ * <p>
+ * The surface is composited above the window so the corners around the wheel stay
+ * translucent; views of the same window cannot overlap the wheel.
+ */
+public class SurfaceWheelView extends FrameLayout implements SurfaceHolder.Callback {
+
+    private SimpleWheelView wheel;
+    private WheelRenderThread renderThread;
+
+    public SurfaceWheelView(@NonNull Context context) {
+        this(context, null);
+    }
+
+    public SurfaceWheelView(@NonNull Context context, @Nullable AttributeSet attrs) {
+        this(context, attrs, 0);
+    }
+
+    public SurfaceWheelView(@NonNull Context context, @Nullable AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+        init(context);
+        if (attrs != null) {
+            this.wheel.init(attrs.getAttributeResourceValue("http://schemas.android.com/apk/res-auto", "wheel", 0),
+                    attrs.getAttributeResourceValue("http://schemas.android.com/apk/res-auto", "pointer", 0),
+                    attrs.getAttributeIntValue("http://schemas.android.com/apk/res-auto", "sectors", 0));
+            this.wheel.setRenderMode(attrs.getAttributeIntValue(
+                    "http://schemas.android.com/apk/res-auto", "renderMode", SimpleWheelView.RENDER_MODE_BITMAP));
+        }
+    }
+
+    private void init(Context context) {
+        SurfaceView surface = new SurfaceView(context);
+        surface.setZOrderOnTop(true);
+        surface.getHolder().setFormat(PixelFormat.TRANSLUCENT);
+        surface.getHolder().addCallback(this);
+
+        //draws nothing itself, it handles touch and feeds the render thread
+        this.wheel = new SimpleWheelView(context);
+        this.renderThread = new WheelRenderThread(this.wheel);
+        this.wheel.setRenderThread(this.renderThread);
+
+        addView(surface, new LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.MATCH_PARENT));
+        addView(this.wheel, new LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.MATCH_PARENT));
+    }
+
+    //square like SimpleWheelView
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        this.wheel.measure(widthMeasureSpec, heightMeasureSpec);
+        int size = MeasureSpec.makeMeasureSpec(this.wheel.getMeasuredWidth(), MeasureSpec.EXACTLY);
+        super.onMeasure(size, size);
+    }
+
+    @Override
+    public void surfaceCreated(SurfaceHolder holder) {
+        this.renderThread.setSurface(holder);
+    }
+
+    @Override
+    public void surfaceChanged(SurfaceHolder holder, int format, int width, int height) {
+        this.renderThread.requestFrame();
+    }
+
+    @Override
+    public void surfaceDestroyed(SurfaceHolder holder) {
+        this.renderThread.setSurface(null);
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        super.setEnabled(enabled);
+        this.wheel.setEnabled(enabled);
+    }
+
+    public void setAssets(@Nullable WheelAsset wheelAsset, @Nullable WheelAsset pointerAsset) {
+        this.wheel.setAssets(wheelAsset, pointerAsset);
+    }
+
+    public void initSectors() {
+        this.wheel.initSectors();
+    }
+
+    public boolean isSpinning() {
+        return this.wheel.isSpinning();
+    }
+
+    public void setWin(int sector) {
+        this.wheel.setWin(sector);
+    }
+
+    public void setOnSectorTouchListener(SimpleWheelView.OnSectorTouchListener listener) {
+        this.wheel.setOnSectorTouchListener(listener);
+    }
+
+    public void setOnSectorCrossingListener(SimpleWheelView.OnSectorCrossingListener listener) {
+        this.wheel.setOnSectorCrossingListener(listener);
+    }
+
+    public void setOnMetricsListener(SimpleWheelView.OnMetricsListener listener) {
+        this.wheel.setOnMetricsListener(listener);
+    }
+
+    public void setListener(SimpleWheelView.OnWheelEventListener listener) {
+        this.wheel.setListener(listener);
+    }
+
+    public void setStartSector(int sector) {
+        this.wheel.setStartSector(sector);
+    }
+
+    public void setCenterText(String centerText) {
+        this.wheel.setCenterText(centerText);
+    }
+
+    public void reset() {
+        this.wheel.reset();
+    }
+
+    public void spin(int rotationDirection) {
+        this.wheel.spin(rotationDirection);
+    }
+
+    public void fling(float angularVelocity) {
+        this.wheel.fling(angularVelocity);
+    }
+
+    public void spinToSector(int sector, int rotationDirection) {
+        this.wheel.spinToSector(sector, rotationDirection);
+    }
+
+    public void replay(SpinTimeline timeline) {
+        this.wheel.replay(timeline);
+    }
+
+    @Nullable
+    public SpinTimeline getLastTimeline() {
+        return this.wheel.getLastTimeline();
+    }
+
+    public void setOutcomeSource(@NonNull OutcomeSource outcomeSource) {
+        this.wheel.setOutcomeSource(outcomeSource);
+    }
+
+    public OutcomeSource getOutcomeSource() {
+        return this.wheel.getOutcomeSource();
+    }
+
+    public void setOutcomeProvider(@Nullable OutcomeProvider provider, long timeoutMillis,
+                                   @Nullable OutcomeSource fallback) {
+        this.wheel.setOutcomeProvider(provider, timeoutMillis, fallback);
+    }
+
+    public OutcomeProvider getOutcomeProvider() {
+        return this.wheel.getOutcomeProvider();
+    }
+
+    public void setApproximateTouchAngles(boolean approximate) {
+        this.wheel.setApproximateTouchAngles(approximate);
+    }
+
+    public void setDeterministicLanding(boolean deterministicLanding) {
+        this.wheel.setDeterministicLanding(deterministicLanding);
+    }
+
+    public void setPrecomputedPlayback(boolean precomputedPlayback) {
+        this.wheel.setPrecomputedPlayback(precomputedPlayback);
+    }
+
+    public void setSpinDuration(long millis) {
+        this.wheel.setSpinDuration(millis);
+    }
+
+    public void setRenderMode(int renderMode) {
+        this.wheel.setRenderMode(renderMode);
+    }
+
+    public int getRenderMode() {
+        return this.wheel.getRenderMode();
+    }
+
+    public void setBitmapMemoryMode(int memoryMode) {
+        this.wheel.setBitmapMemoryMode(memoryMode);
+    }
+
+    public int getBitmapMemoryMode() {
+        return this.wheel.getBitmapMemoryMode();
+    }
+
+    public void setDiskCacheEnabled(boolean diskCache) {
+        this.wheel.setDiskCacheEnabled(diskCache);
+    }
+
+    public boolean isDiskCacheEnabled() {
+        return this.wheel.isDiskCacheEnabled();
+    }
+
+    public long getBitmapByteCount() {
+        return this.wheel.getBitmapByteCount();
+    }
+
+    //draw times are measured on the render thread
+    public void setMetricsEnabled(boolean enabled) {
+        this.wheel.setMetricsEnabled(enabled);
+    }
+
+    public boolean isMetricsEnabled() {
+        return this.wheel.isMetricsEnabled();
+    }
+
+    @Nullable
+    public WheelMetrics.Snapshot getMetricsSnapshot() {
+        return this.wheel.getMetricsSnapshot();
+    }
+
+    public int getSectors() {
+        return this.wheel.getSectors();
+    }
+
+    public void setSectors(int sectors) {
+        this.wheel.setSectors(sectors);
+    }
+
+    public void setSectorWeights(@NonNull float[] weights) {
+        this.wheel.setSectorWeights(weights);
+    }
+
+    //the render thread ends with the wheel, the view cannot be used afterwards
+    public void destroy() {
+        this.wheel.destroy();
+        this.renderThread.quit();
+    }
+}
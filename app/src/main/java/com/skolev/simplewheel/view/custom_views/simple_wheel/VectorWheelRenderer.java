@@ -0,0 +1,168 @@
+package com.skolev.simplewheel.view.custom_views.simple_wheel;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.ColorFilter;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Path;
+
+import com.skolev.simplewheel.engine.SectorLayout;
+
+/**
+ * Bitmap-free counterpart of {@link WheelRenderer} for the default drawn wheel. Dividers,
+ * labels and pointer are kept as cached paths that are only rebuilt when the geometry changes;
+ * a frame is a handful of draw calls under a canvas rotation and allocates nothing.
+ */
+final class VectorWheelRenderer {
+
+    private static final float STROKE_WIDTH = 5;
+
+    private final Paint fillPaint;
+    private final Paint strokePaint;
+    private final Paint textPaint;
+    private final Paint pointerPaint;
+    private final Path dividers;
+    private final Path labels;
+    private final Path pointer;
+    private final Path scratch;
+    private final Matrix labelMatrix;
+    private final WheelDetail detail;
+
+    private int radius;
+    private int centerRadius;
+    private int sectors;
+    private int pointerWidth;
+    private int pointerHeight;
+    private SectorLayout layout;
+    private ColorFilter colorFilter;
+
+    VectorWheelRenderer() {
+        this.fillPaint = new Paint(Paint.ANTI_ALIAS_FLAG | Paint.DITHER_FLAG);
+
+        this.strokePaint = new Paint(Paint.ANTI_ALIAS_FLAG | Paint.DITHER_FLAG);
+        this.strokePaint.setStyle(Paint.Style.STROKE);
+        this.strokePaint.setStrokeWidth(STROKE_WIDTH);
+
+        this.textPaint = new Paint(
+                Paint.ANTI_ALIAS_FLAG
+                        | Paint.SUBPIXEL_TEXT_FLAG
+                        | Paint.LINEAR_TEXT_FLAG);
+        this.textPaint.setColor(Color.BLACK);
+        this.textPaint.setTextAlign(Paint.Align.CENTER);
+
+        this.pointerPaint = new Paint(Paint.ANTI_ALIAS_FLAG | Paint.DITHER_FLAG);
+        this.pointerPaint.setStyle(Paint.Style.STROKE);
+        this.pointerPaint.setStrokeWidth(STROKE_WIDTH);
+        this.pointerPaint.setColor(Color.GREEN);
+
+        this.dividers = new Path();
+        this.labels = new Path();
+        this.pointer = new Path();
+        this.scratch = new Path();
+        this.labelMatrix = new Matrix();
+        this.detail = new WheelDetail();
+    }
+
+    void update(Wheel wheel, Pointer pointer, SectorLayout layout) {
+        if (this.radius == wheel.radius
+                && this.centerRadius == wheel.centerRadius
+                && this.sectors == wheel.sectors
+                && this.pointerWidth == pointer.width
+                && this.pointerHeight == pointer.height
+                && this.layout == layout) {
+            return;
+        }
+        this.layout = layout;
+        this.radius = wheel.radius;
+        this.centerRadius = wheel.centerRadius;
+        this.sectors = wheel.sectors;
+        this.pointerWidth = pointer.width;
+        this.pointerHeight = pointer.height;
+
+        this.detail.compute(layout, this.sectors, this.radius << 1);
+        buildDividers();
+        buildLabels();
+        buildPointer();
+    }
+
+    private void buildDividers() {
+        this.dividers.rewind();
+
+        for (int divider = 0; divider < this.detail.dividerCount; divider++) {
+            int i = this.detail.dividers[divider];
+            double angle = Math.toRadians(WheelRenderSpec.slotEnd(this.layout, this.sectors, i));
+            float sin = (float) Math.sin(angle);
+            float cos = (float) Math.cos(angle);
+
+            this.dividers.moveTo(this.radius + this.radius * sin, this.radius - this.radius * cos);
+            this.dividers.lineTo(this.radius + this.centerRadius * sin, this.radius - this.centerRadius * cos);
+        }
+    }
+
+    private void buildLabels() {
+        this.labels.rewind();
+        int size = this.radius << 1;
+        int margin = size >> 4;
+
+        for (int label = 0; label < this.detail.labelCount; label++) {
+            int i = this.detail.labels[label];
+            String text = Integer.toString(this.sectors - i);
+            int dstWidth = this.detail.labelSizes[label];
+            this.textPaint.setTextSize(dstWidth);
+            this.textPaint.getTextPath(text, 0, text.length(), this.radius, margin + dstWidth, this.scratch);
+            this.labelMatrix.setRotate(
+                    WheelRenderSpec.slotCenter(this.layout, this.sectors, i),
+                    this.radius,
+                    this.radius);
+            this.labels.addPath(this.scratch, this.labelMatrix);
+        }
+    }
+
+    private void buildPointer() {
+        this.pointer.rewind();
+        this.pointer.moveTo(this.pointerWidth, 0);
+        this.pointer.lineTo(this.pointerWidth >> 1, this.pointerHeight);
+        this.pointer.lineTo(0, 0);
+        this.pointer.close();
+    }
+
+    void drawWheel(Canvas canvas, float left, float top, float rotation, float pivotX, float pivotY) {
+        canvas.save();
+        canvas.rotate(rotation, pivotX, pivotY);
+        canvas.translate(left, top);
+
+        this.fillPaint.setColor(Color.RED);
+        canvas.drawCircle(this.radius, this.radius, this.radius, this.fillPaint);
+
+        this.fillPaint.setColor(Color.LTGRAY);
+        canvas.drawCircle(this.radius, this.radius, this.radius - STROKE_WIDTH, this.fillPaint);
+
+        this.strokePaint.setColor(Color.RED);
+        canvas.drawPath(this.dividers, this.strokePaint);
+
+        this.fillPaint.setColor(Color.YELLOW);
+        canvas.drawCircle(this.radius, this.radius, this.centerRadius, this.fillPaint);
+
+        canvas.drawPath(this.labels, this.textPaint);
+        canvas.restore();
+    }
+
+    void drawPointer(Canvas canvas, Matrix pointerMatrix) {
+        canvas.save();
+        canvas.concat(pointerMatrix);
+        canvas.drawPath(this.pointer, this.pointerPaint);
+        canvas.restore();
+    }
+
+    //applies to the wheel only, the pointer stays in color like the bitmap pointer
+    void setColorFilter(ColorFilter colorFilter) {
+        if (this.colorFilter == colorFilter) {
+            return;
+        }
+        this.colorFilter = colorFilter;
+        this.fillPaint.setColorFilter(colorFilter);
+        this.strokePaint.setColorFilter(colorFilter);
+        this.textPaint.setColorFilter(colorFilter);
+    }
+}
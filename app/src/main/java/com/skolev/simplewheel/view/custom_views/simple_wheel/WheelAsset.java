@@ -0,0 +1,112 @@
+package com.skolev.simplewheel.view.custom_views.simple_wheel;
+
+import android.content.Context;
+import android.net.Uri;
+
+import androidx.annotation.NonNull;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Source of custom wheel or pointer artwork. Assets are opened twice, once for the bounds
+ * and once for the sampled decode, so stream sources are given as a provider.
+ */
+public final class WheelAsset {
+
+    public interface StreamProvider {
+
+        InputStream open() throws IOException;
+    }
+
+    private static final int TYPE_RESOURCE = 0;
+    private static final int TYPE_FILE = 1;
+    private static final int TYPE_URI = 2;
+    private static final int TYPE_STREAM = 3;
+
+    private final int type;
+    private final int resource;
+    private final File file;
+    private final Uri uri;
+    private final StreamProvider provider;
+    private final String key;
+
+    private WheelAsset(int type, int resource, File file, Uri uri, StreamProvider provider, String key) {
+        this.type = type;
+        this.resource = resource;
+        this.file = file;
+        this.uri = uri;
+        this.provider = provider;
+        this.key = key;
+    }
+
+    public static WheelAsset fromResource(int resource) {
+        return new WheelAsset(TYPE_RESOURCE, resource, null, null, null, "res:" + resource);
+    }
+
+    public static WheelAsset fromFile(@NonNull File file) {
+        return new WheelAsset(TYPE_FILE, 0, file, null, null, "file:" + file.getAbsolutePath());
+    }
+
+    public static WheelAsset fromUri(@NonNull Uri uri) {
+        return new WheelAsset(TYPE_URI, 0, null, uri, null, "uri:" + uri);
+    }
+
+    //the key identifies the artwork in the bitmap caches, use a new key whenever the content changes
+    public static WheelAsset fromStream(@NonNull String key, @NonNull StreamProvider provider) {
+        return new WheelAsset(TYPE_STREAM, 0, null, null, provider, "stream:" + key);
+    }
+
+    String getKey() {
+        return this.key;
+    }
+
+    //null when the content behind the key can change unnoticed, such artwork is not kept on disk
+    String getPersistentKey() {
+        switch (this.type) {
+            case TYPE_FILE:
+                return this.key + "@" + this.file.lastModified() + ":" + this.file.length();
+            case TYPE_URI:
+                return null;
+            default:
+                return this.key;
+        }
+    }
+
+    InputStream open(Context context) throws IOException {
+        InputStream stream;
+        switch (this.type) {
+            case TYPE_RESOURCE:
+                stream = context.getResources().openRawResource(this.resource);
+                break;
+            case TYPE_FILE:
+                stream = new FileInputStream(this.file);
+                break;
+            case TYPE_URI:
+                stream = context.getContentResolver().openInputStream(this.uri);
+                break;
+            default:
+                stream = this.provider.open();
+                break;
+        }
+        if (stream == null) {
+            throw new FileNotFoundException("Cannot open " + this.key);
+        }
+        return stream;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof WheelAsset)) return false;
+        return this.key.equals(((WheelAsset) o).key);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.key.hashCode();
+    }
+}
@@ -0,0 +1,116 @@
+package com.skolev.simplewheel.view.custom_views.simple_wheel;
+
+import android.graphics.Bitmap;
+import android.util.LruCache;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Process-wide cache of rendered wheel, pointer and sector bitmaps, bounded by bytes.
+ * Bitmaps are shared between views, so every user holds a reference taken with
+ * {@link #acquire(WheelBitmapKey)}, {@link #putAcquired(WheelBitmapKey, Bitmap)} or
+ * {@link #retain(Bitmap)} and gives it back with {@link #release(Bitmap)}. Pixel memory goes
+ * to {@link WheelBitmapPool} only once a bitmap is both out of the cache and unreferenced.
+ */
+final class WheelBitmapCache {
+
+    private static final int MEMORY_SHARE = 8;
+
+    private static WheelBitmapCache instance;
+
+    private final LruCache<WheelBitmapKey, Bitmap> cache;
+    private final Map<Bitmap, Usage> usages;
+
+    private static final class Usage {
+
+        int references;
+        boolean cached;
+    }
+
+    private WheelBitmapCache(int maxBytes) {
+        this.usages = new IdentityHashMap<>();
+        this.cache = new LruCache<WheelBitmapKey, Bitmap>(maxBytes) {
+            @Override
+            protected int sizeOf(WheelBitmapKey key, Bitmap value) {
+                return value.getAllocationByteCount();
+            }
+
+            @Override
+            protected void entryRemoved(boolean evicted, WheelBitmapKey key, Bitmap oldValue, Bitmap newValue) {
+                if (oldValue != newValue) {
+                    usage(oldValue).cached = false;
+                    recycleIfUnused(oldValue);
+                }
+            }
+        };
+    }
+
+    static synchronized WheelBitmapCache getInstance() {
+        if (instance == null) {
+            instance = new WheelBitmapCache((int) (Runtime.getRuntime().maxMemory() / MEMORY_SHARE));
+        }
+        return instance;
+    }
+
+    synchronized Bitmap acquire(WheelBitmapKey key) {
+        Bitmap bitmap = this.cache.get(key);
+        if (bitmap != null && bitmap.isRecycled()) {
+            this.cache.remove(key);
+            return null;
+        }
+        if (bitmap != null) {
+            usage(bitmap).references++;
+        }
+        return bitmap;
+    }
+
+    synchronized void putAcquired(WheelBitmapKey key, Bitmap bitmap) {
+        Usage usage = usage(bitmap);
+        usage.references++;
+        usage.cached = true;
+        this.cache.put(key, bitmap);
+    }
+
+    //one more reference to a bitmap already held, bitmaps the cache never handed out are ignored
+    synchronized void retain(Bitmap bitmap) {
+        Usage usage = bitmap != null ? this.usages.get(bitmap) : null;
+        if (usage != null) {
+            usage.references++;
+        }
+    }
+
+    synchronized void release(Bitmap bitmap) {
+        Usage usage = bitmap != null ? this.usages.get(bitmap) : null;
+        if (usage == null) {
+            return;
+        }
+        usage.references--;
+        recycleIfUnused(bitmap);
+    }
+
+    private Usage usage(Bitmap bitmap) {
+        Usage usage = this.usages.get(bitmap);
+        if (usage == null) {
+            usage = new Usage();
+            this.usages.put(bitmap, usage);
+        }
+        return usage;
+    }
+
+    private void recycleIfUnused(Bitmap bitmap) {
+        Usage usage = this.usages.get(bitmap);
+        if (usage != null && usage.references <= 0 && !usage.cached) {
+            this.usages.remove(bitmap);
+            WheelBitmapPool.getInstance().put(bitmap);
+        }
+    }
+
+    synchronized void resize(int maxBytes) {
+        this.cache.resize(maxBytes);
+    }
+
+    synchronized void clear() {
+        this.cache.evictAll();
+    }
+}
@@ -0,0 +1,58 @@
+package com.skolev.simplewheel.view.custom_views.simple_wheel;
+
+final class WheelBitmapKey {
+
+    static final int TYPE_WHEEL = 0;
+    static final int TYPE_POINTER = 1;
+    static final int TYPE_SECTORS = 2;
+
+    final int type;
+    final int width;
+    final int height;
+    final int sectors;
+    final String source;
+    final String labels;
+    final String layout;
+    final int memoryMode;
+
+    WheelBitmapKey(int type, int width, int height, int sectors, String source, String labels, String layout,
+                   int memoryMode) {
+        this.type = type;
+        this.width = width;
+        this.height = height;
+        this.sectors = sectors;
+        this.source = source;
+        this.labels = labels;
+        this.layout = layout;
+        this.memoryMode = memoryMode;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof WheelBitmapKey)) return false;
+
+        WheelBitmapKey key = (WheelBitmapKey) o;
+        return this.type == key.type
+                && this.width == key.width
+                && this.height == key.height
+                && this.sectors == key.sectors
+                && (this.source == null ? key.source == null : this.source.equals(key.source))
+                && this.memoryMode == key.memoryMode
+                && (this.labels == null ? key.labels == null : this.labels.equals(key.labels))
+                && (this.layout == null ? key.layout == null : this.layout.equals(key.layout));
+    }
+
+    @Override
+    public int hashCode() {
+        int result = this.type;
+        result = 31 * result + this.width;
+        result = 31 * result + this.height;
+        result = 31 * result + this.sectors;
+        result = 31 * result + (this.source != null ? this.source.hashCode() : 0);
+        result = 31 * result + (this.labels != null ? this.labels.hashCode() : 0);
+        result = 31 * result + (this.layout != null ? this.layout.hashCode() : 0);
+        result = 31 * result + this.memoryMode;
+        return result;
+    }
+}
@@ -0,0 +1,79 @@
+package com.skolev.simplewheel.view.custom_views.simple_wheel;
+
+import android.graphics.Bitmap;
+import android.graphics.Color;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+ * Pixel memory of bitmaps no wheel draws anymore, handed out again for renders and as
+ * {@code inBitmap} for decodes of the same size and config. Bounded by bytes, oldest first out.
+ */
+final class WheelBitmapPool {
+
+    private static final int MEMORY_SHARE = 16;
+
+    private static WheelBitmapPool instance;
+
+    private final ArrayDeque<Bitmap> bitmaps;
+    private final long maxBytes;
+    private long bytes;
+
+    private WheelBitmapPool(long maxBytes) {
+        this.bitmaps = new ArrayDeque<>();
+        this.maxBytes = maxBytes;
+    }
+
+    static synchronized WheelBitmapPool getInstance() {
+        if (instance == null) {
+            instance = new WheelBitmapPool(Runtime.getRuntime().maxMemory() / MEMORY_SHARE);
+        }
+        return instance;
+    }
+
+    //cleared bitmap of the given shape, reused when possible
+    Bitmap obtain(int width, int height, Bitmap.Config config) {
+        Bitmap bitmap = take(width, height, config);
+        if (bitmap == null) {
+            return Bitmap.createBitmap(width, height, config);
+        }
+        bitmap.eraseColor(Color.TRANSPARENT);
+        return bitmap;
+    }
+
+    synchronized Bitmap take(int width, int height, Bitmap.Config config) {
+        Iterator<Bitmap> iterator = this.bitmaps.iterator();
+        while (iterator.hasNext()) {
+            Bitmap bitmap = iterator.next();
+            if (bitmap.getWidth() == width && bitmap.getHeight() == height && bitmap.getConfig() == config) {
+                iterator.remove();
+                this.bytes -= bitmap.getAllocationByteCount();
+                return bitmap;
+            }
+        }
+        return null;
+    }
+
+    synchronized void put(Bitmap bitmap) {
+        if (bitmap == null || bitmap.isRecycled() || !bitmap.isMutable()) {
+            return;
+        }
+        this.bitmaps.addLast(bitmap);
+        this.bytes += bitmap.getAllocationByteCount();
+
+        while (this.bytes > this.maxBytes && !this.bitmaps.isEmpty()) {
+            Bitmap evicted = this.bitmaps.removeFirst();
+            this.bytes -= evicted.getAllocationByteCount();
+            evicted.recycle();
+        }
+    }
+
+    synchronized void clear() {
+        for (Bitmap bitmap : this.bitmaps) {
+            bitmap.recycle();
+        }
+        this.bitmaps.clear();
+        this.bytes = 0;
+    }
+}
@@ -0,0 +1,85 @@
+package com.skolev.simplewheel.view.custom_views.simple_wheel;
+
+import com.skolev.simplewheel.engine.SectorLayout;
+
+/**
+ * Level of detail for the drawn wheel. Decides from the arc length of every slot in pixels
+ * which dividers and labels are worth drawing: dividers closer than a few pixels merge into
+ * their neighbours, labels that would shrink below a readable size are drawn at that size for
+ * every few slots only, and the label count is capped. Small wheels keep every divider and label.
+ */
+final class WheelDetail {
+
+    static final float MIN_DIVIDER_SPACING = 4f;
+    static final int MIN_LABEL_SIZE = 10;
+    static final int MAX_LABELS = 96;
+
+    //rough advance of a digit relative to the text size, plus some padding around a label
+    private static final float DIGIT_ADVANCE = 0.6f;
+    private static final float LABEL_PADDING = 0.4f;
+
+    int dividerCount;
+    int[] dividers = new int[0];
+    int labelCount;
+    int[] labels = new int[0];
+    int[] labelSizes = new int[0];
+
+    void compute(SectorLayout layout, int sectors, int wheelSize) {
+        if (this.dividers.length < sectors) {
+            this.dividers = new int[sectors];
+            this.labels = new int[Math.min(sectors, MAX_LABELS)];
+            this.labelSizes = new int[this.labels.length];
+        }
+        float perimeter = (float) (Math.PI * wheelSize);
+        computeDividers(layout, sectors, perimeter);
+        computeLabels(layout, sectors, wheelSize, perimeter);
+    }
+
+    private void computeDividers(SectorLayout layout, int sectors, float perimeter) {
+        this.dividerCount = 0;
+        float pending = 0;
+        for (int slot = 0; slot < sectors; slot++) {
+            pending += arcLength(layout, sectors, perimeter, slot);
+            if (pending >= MIN_DIVIDER_SPACING) {
+                this.dividers[this.dividerCount++] = slot;
+                pending = 0;
+            }
+        }
+    }
+
+    private void computeLabels(SectorLayout layout, int sectors, int wheelSize, float perimeter) {
+        this.labelCount = 0;
+        int digits = Integer.toString(sectors).length();
+        float spacing = Math.max(
+                MIN_LABEL_SIZE * (DIGIT_ADVANCE * digits + LABEL_PADDING),
+                perimeter / MAX_LABELS);
+
+        float position = 0;
+        float first = 0;
+        float last = Float.NEGATIVE_INFINITY;
+        for (int slot = 0; slot < sectors; slot++) {
+            float arc = arcLength(layout, sectors, perimeter, slot);
+            float center = position + arc / 2f;
+            position += arc;
+
+            boolean clear = center - last >= spacing
+                    && (this.labelCount == 0 || first + perimeter - center >= spacing);
+            if (!clear || this.labelCount == this.labels.length) {
+                continue;
+            }
+            if (this.labelCount == 0) {
+                first = center;
+            }
+            int size = WheelRenderSpec.labelSize(layout, sectors, wheelSize, slot);
+            this.labels[this.labelCount] = slot;
+            this.labelSizes[this.labelCount] = Math.max(size, MIN_LABEL_SIZE);
+            this.labelCount++;
+            last = center;
+        }
+    }
+
+    private static float arcLength(SectorLayout layout, int sectors, float perimeter, int slot) {
+        float arc = layout == null ? 360f / sectors : layout.getSlotArc(slot);
+        return perimeter * arc / 360f;
+    }
+}
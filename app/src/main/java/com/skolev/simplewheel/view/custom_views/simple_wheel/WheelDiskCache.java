@@ -0,0 +1,206 @@
+package com.skolev.simplewheel.view.custom_views.simple_wheel;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.util.Log;
+
+import com.skolev.simplewheel.BuildConfig;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Rendered wheel bitmaps as raw pixel files in the app cache directory, so a cold start can
+ * map them straight back into bitmaps instead of rendering again. Files are named by a hash of
+ * the full configuration, carry a format version in their header and are evicted least recently
+ * used first once the directory outgrows its byte budget.
+ */
+final class WheelDiskCache {
+
+    private static final String TAG = "WheelDiskCache";
+    private static final String DIRECTORY = "simple_wheel";
+    private static final String EXTENSION = ".px";
+    private static final int MAGIC = 0x5357504B;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 6 * 4;
+    private static final long MAX_BYTES = 16 * 1024 * 1024;
+
+    private static final int CONFIG_ARGB_8888 = 1;
+    private static final int CONFIG_RGB_565 = 2;
+    private static final int CONFIG_ALPHA_8 = 3;
+
+    private static WheelDiskCache instance;
+
+    private final File directory;
+    private final WheelBitmapPool pool;
+
+    private WheelDiskCache(File directory) {
+        this.directory = directory;
+        this.pool = WheelBitmapPool.getInstance();
+    }
+
+    static synchronized WheelDiskCache getInstance(Context context) {
+        if (instance == null) {
+            instance = new WheelDiskCache(new File(context.getApplicationContext().getCacheDir(), DIRECTORY));
+        }
+        return instance;
+    }
+
+    synchronized Bitmap read(WheelBitmapKey key, String style) {
+        File file = fileFor(key, style);
+        if (!file.isFile()) {
+            return null;
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+             FileChannel channel = raf.getChannel()) {
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.nativeOrder());
+
+            if (channel.size() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                file.delete();
+                return null;
+            }
+            int width = buffer.getInt();
+            int height = buffer.getInt();
+            Bitmap.Config config = toConfig(buffer.getInt());
+            int byteCount = buffer.getInt();
+
+            if (config == null || width != key.width || height != key.height
+                    || buffer.remaining() != byteCount) {
+                file.delete();
+                return null;
+            }
+            Bitmap bitmap = this.pool.obtain(width, height, config);
+            if (bitmap.getByteCount() != byteCount) {
+                this.pool.put(bitmap);
+                file.delete();
+                return null;
+            }
+            bitmap.copyPixelsFromBuffer(buffer);
+            file.setLastModified(System.currentTimeMillis());
+            return bitmap;
+        } catch (IOException | RuntimeException e) {
+            Log.w(TAG, "Dropping unreadable " + file.getName(), e);
+            file.delete();
+            return null;
+        }
+    }
+
+    synchronized void write(WheelBitmapKey key, String style, Bitmap bitmap) {
+        int config = fromConfig(bitmap.getConfig());
+        if (config == 0 || (!this.directory.isDirectory() && !this.directory.mkdirs())) {
+            return;
+        }
+        File file = fileFor(key, style);
+        File tmp = new File(this.directory, file.getName() + ".tmp");
+        int byteCount = bitmap.getByteCount();
+
+        try (RandomAccessFile raf = new RandomAccessFile(tmp, "rw");
+             FileChannel channel = raf.getChannel()) {
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + byteCount);
+            buffer.order(ByteOrder.nativeOrder());
+            buffer.putInt(MAGIC);
+            buffer.putInt(VERSION);
+            buffer.putInt(bitmap.getWidth());
+            buffer.putInt(bitmap.getHeight());
+            buffer.putInt(config);
+            buffer.putInt(byteCount);
+            bitmap.copyPixelsToBuffer(buffer);
+            buffer.force();
+        } catch (IOException | RuntimeException e) {
+            Log.w(TAG, "Cannot store " + file.getName(), e);
+            tmp.delete();
+            return;
+        }
+        if (!tmp.renameTo(file)) {
+            tmp.delete();
+            return;
+        }
+        trim();
+    }
+
+    private void trim() {
+        File[] files = this.directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        long bytes = 0;
+        for (File file : files) {
+            bytes += file.length();
+        }
+        if (bytes <= MAX_BYTES) {
+            return;
+        }
+        Arrays.sort(files, new Comparator<File>() {
+            @Override
+            public int compare(File a, File b) {
+                return Long.compare(a.lastModified(), b.lastModified());
+            }
+        });
+        for (int i = 0; i < files.length && bytes > MAX_BYTES; i++) {
+            long length = files[i].length();
+            if (files[i].delete()) {
+                bytes -= length;
+            }
+        }
+    }
+
+    private File fileFor(WheelBitmapKey key, String style) {
+        String config = key.type
+                + "|" + key.width
+                + "|" + key.height
+                + "|" + key.sectors
+                + "|" + key.source
+                + "|" + key.labels
+                + "|" + key.layout
+                + "|" + key.memoryMode
+                + "|" + style
+                + "|" + BuildConfig.VERSION_CODE;
+        return new File(this.directory, hash(config) + EXTENSION);
+    }
+
+    private static String hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(value.getBytes(Charset.forName("UTF-8")));
+            StringBuilder builder = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                builder.append(Character.forDigit((b >> 4) & 0xF, 16));
+                builder.append(Character.forDigit(b & 0xF, 16));
+            }
+            return builder.toString();
+        } catch (NoSuchAlgorithmException e) {
+            return Integer.toHexString(value.hashCode());
+        }
+    }
+
+    private static int fromConfig(Bitmap.Config config) {
+        if (config == Bitmap.Config.ARGB_8888) return CONFIG_ARGB_8888;
+        if (config == Bitmap.Config.RGB_565) return CONFIG_RGB_565;
+        if (config == Bitmap.Config.ALPHA_8) return CONFIG_ALPHA_8;
+        return 0;
+    }
+
+    private static Bitmap.Config toConfig(int config) {
+        switch (config) {
+            case CONFIG_ARGB_8888:
+                return Bitmap.Config.ARGB_8888;
+            case CONFIG_RGB_565:
+                return Bitmap.Config.RGB_565;
+            case CONFIG_ALPHA_8:
+                return Bitmap.Config.ALPHA_8;
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.skolev.simplewheel.view.custom_views.simple_wheel;
+
+import android.view.Choreographer;
+
+/**
+ * One choreographer callback for any number of {@link WheelFrameDriver}s. A wheel has a clock
+ * of its own, the wheels of a {@link WheelReel} share one, so a frame of the reel steps every
+ * spinning wheel from the same frame time.
+ */
+final class WheelFrameClock implements Choreographer.FrameCallback {
+
+    private final Choreographer choreographer;
+    private WheelFrameDriver[] scheduled = new WheelFrameDriver[2];
+    private WheelFrameDriver[] running = new WheelFrameDriver[2];
+    private int scheduledCount;
+    private boolean posted;
+    private Runnable idleCallback;
+
+    WheelFrameClock() {
+        this.choreographer = Choreographer.getInstance();
+    }
+
+    //runs after a frame that left no driver scheduled
+    void setIdleCallback(Runnable idleCallback) {
+        this.idleCallback = idleCallback;
+    }
+
+    void schedule(WheelFrameDriver driver) {
+        for (int i = 0; i < this.scheduledCount; i++) {
+            if (this.scheduled[i] == driver) {
+                return;
+            }
+        }
+        if (this.scheduledCount == this.scheduled.length) {
+            WheelFrameDriver[] grown = new WheelFrameDriver[this.scheduledCount << 1];
+            System.arraycopy(this.scheduled, 0, grown, 0, this.scheduledCount);
+            this.scheduled = grown;
+        }
+        this.scheduled[this.scheduledCount++] = driver;
+        if (!this.posted) {
+            this.posted = true;
+            this.choreographer.postFrameCallback(this);
+        }
+    }
+
+    void cancel(WheelFrameDriver driver) {
+        for (int i = 0; i < this.scheduledCount; i++) {
+            if (this.scheduled[i] == driver) {
+                System.arraycopy(this.scheduled, i + 1, this.scheduled, i, this.scheduledCount - i - 1);
+                this.scheduled[--this.scheduledCount] = null;
+                break;
+            }
+        }
+        if (this.scheduledCount == 0 && this.posted) {
+            this.posted = false;
+            this.choreographer.removeFrameCallback(this);
+        }
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        this.posted = false;
+        //drivers schedule themselves again for the next frame while this one runs
+        WheelFrameDriver[] drivers = this.scheduled;
+        int count = this.scheduledCount;
+        this.scheduled = this.running;
+        this.running = drivers;
+        this.scheduledCount = 0;
+
+        for (int i = 0; i < count; i++) {
+            WheelFrameDriver driver = drivers[i];
+            drivers[i] = null;
+            //stopped by a listener of an earlier wheel in this frame
+            if (driver.isScheduled()) {
+                driver.doFrame(frameTimeNanos);
+            }
+        }
+        if (this.scheduledCount == 0 && this.idleCallback != null) {
+            this.idleCallback.run();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.skolev.simplewheel.view.custom_views.simple_wheel;
+
+import com.skolev.simplewheel.engine.WheelEngine;
+
+final class WheelFrameDriver {
+
+    private final SimpleWheelView view;
+    private final WheelEngine engine;
+    private WheelFrameClock clock;
+    private boolean scheduled;
+    private WheelMetrics metrics;
+
+    WheelFrameDriver(SimpleWheelView view, WheelEngine engine) {
+        this.view = view;
+        this.engine = engine;
+        this.clock = new WheelFrameClock();
+    }
+
+    //moves to a clock shared with other wheels, a spin in progress carries on with it
+    void setClock(WheelFrameClock clock) {
+        if (this.scheduled) {
+            this.clock.cancel(this);
+            clock.schedule(this);
+        }
+        this.clock = clock;
+    }
+
+    void start() {
+        if (!this.scheduled) {
+            this.scheduled = true;
+            this.clock.schedule(this);
+        }
+    }
+
+    void stop() {
+        if (this.scheduled) {
+            this.scheduled = false;
+            this.clock.cancel(this);
+        }
+        if (this.metrics != null) {
+            this.metrics.endFrames();
+        }
+    }
+
+    //null while metrics are off
+    void setMetrics(WheelMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    boolean isScheduled() {
+        return this.scheduled;
+    }
+
+    void doFrame(long frameTimeNanos) {
+        this.scheduled = false;
+        WheelMetrics metrics = this.metrics;
+        long tickStart = metrics != null ? System.nanoTime() : 0;
+
+        int previousPhase = this.engine.getPhase();
+        int phase = this.engine.step(frameTimeNanos);
+        this.view.onEngineFrame(previousPhase, phase);
+
+        if (metrics != null) {
+            metrics.recordTick(frameTimeNanos, System.nanoTime() - tickStart);
+        }
+        if (this.engine.isAnimating()) {
+            start();
+        } else if (metrics != null) {
+            metrics.endFrames();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.skolev.simplewheel.view.custom_views.simple_wheel;
+
+import android.app.Activity;
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.os.Build;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.view.FrameMetrics;
+import android.view.Window;
+
+import androidx.annotation.RequiresApi;
+
+/**
+ * Feeds the frame durations reported by the window into {@link WheelMetrics} while the wheel
+ * animates. The window reports every frame of the activity, frames outside a spin are ignored.
+ */
+@RequiresApi(api = Build.VERSION_CODES.N)
+final class WheelFrameMetrics implements Window.OnFrameMetricsAvailableListener {
+
+    private static Handler handler;
+
+    private final WheelMetrics metrics;
+    private Window window;
+
+    WheelFrameMetrics(WheelMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    //false when the view does not live in an activity window
+    boolean attach(Context context) {
+        Window window = findWindow(context);
+        if (window == null) {
+            return false;
+        }
+        detach();
+        window.addOnFrameMetricsAvailableListener(this, getHandler());
+        this.window = window;
+        this.metrics.setWindowFrames(true);
+        return true;
+    }
+
+    void detach() {
+        if (this.window != null) {
+            try {
+                this.window.removeOnFrameMetricsAvailableListener(this);
+            } catch (IllegalArgumentException ignored) {
+                //already removed together with the window
+            }
+            this.window = null;
+        }
+        this.metrics.setWindowFrames(false);
+    }
+
+    @Override
+    public void onFrameMetricsAvailable(Window window, FrameMetrics frameMetrics, int dropCountSinceLastInvocation) {
+        if (this.metrics.isAnimating()) {
+            this.metrics.recordFrameDuration(frameMetrics.getMetric(FrameMetrics.TOTAL_DURATION));
+        }
+    }
+
+    private static Window findWindow(Context context) {
+        while (context instanceof ContextWrapper) {
+            if (context instanceof Activity) {
+                return ((Activity) context).getWindow();
+            }
+            context = ((ContextWrapper) context).getBaseContext();
+        }
+        return null;
+    }
+
+    private static synchronized Handler getHandler() {
+        if (handler == null) {
+            HandlerThread thread = new HandlerThread("wheel-frame-metrics");
+            thread.start();
+            handler = new Handler(thread.getLooper());
+        }
+        return handler;
+    }
+}
@@ -0,0 +1,80 @@
+package com.skolev.simplewheel.view.custom_views.simple_wheel;
+
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.Paint;
+import android.graphics.RecordingCanvas;
+import android.graphics.RenderNode;
+import android.os.Build;
+
+import androidx.annotation.RequiresApi;
+
+/**
+ * The static wheel content recorded once into its own render node, backed by a compositing
+ * layer. Spinning only changes the node's rotation property, which the render thread applies
+ * to the existing layer; the content is recorded again only after {@link #invalidate()}.
+ */
+@RequiresApi(api = Build.VERSION_CODES.Q)
+final class WheelLayer {
+
+    interface Content {
+
+        void draw(Canvas canvas);
+    }
+
+    private final RenderNode node;
+    private final Paint layerPaint;
+    private ColorFilter colorFilter;
+    private boolean dirty;
+
+    WheelLayer() {
+        this.node = new RenderNode("SimpleWheel");
+        this.layerPaint = new Paint();
+        this.node.setUseCompositingLayer(true, this.layerPaint);
+        this.dirty = true;
+    }
+
+    void invalidate() {
+        this.dirty = true;
+    }
+
+    boolean isDirty() {
+        return this.dirty;
+    }
+
+    void setPosition(int left, int top, int size) {
+        this.node.setPosition(left, top, left + size, top + size);
+        this.node.setPivotX(size / 2f);
+        this.node.setPivotY(size / 2f);
+    }
+
+    void record(Content content) {
+        RecordingCanvas canvas = this.node.beginRecording();
+        try {
+            content.draw(canvas);
+        } finally {
+            this.node.endRecording();
+        }
+        this.dirty = false;
+    }
+
+    //the filter is applied when compositing the layer, so toggling it does not re-record
+    void setColorFilter(ColorFilter colorFilter) {
+        if (this.colorFilter == colorFilter) {
+            return;
+        }
+        this.colorFilter = colorFilter;
+        this.layerPaint.setColorFilter(colorFilter);
+        this.node.setUseCompositingLayer(true, this.layerPaint);
+    }
+
+    void draw(Canvas canvas, float rotation) {
+        this.node.setRotationZ(rotation);
+        canvas.drawRenderNode(this.node);
+    }
+
+    void discard() {
+        this.node.discardDisplayList();
+        this.dirty = true;
+    }
+}
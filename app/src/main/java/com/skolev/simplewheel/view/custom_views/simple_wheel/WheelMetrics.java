@@ -0,0 +1,182 @@
+package com.skolev.simplewheel.view.custom_views.simple_wheel;
+
+import java.util.Arrays;
+
+/**
+ * Opt-in performance samples of one wheel, see {@link SimpleWheelView#setMetricsEnabled(boolean)}.
+ * Draw and tick times are written by the UI thread, or by the render thread of a
+ * {@link SurfaceWheelView}, prerender times by the render worker and frame counts either by
+ * the frame metrics thread of the window or, where the window cannot report them, from the
+ * gaps between animation frames. Every measurement has a single writer,
+ * so recording is a couple of plain stores.
+ */
+public final class WheelMetrics {
+
+    private static final int FRAME_SAMPLES = 256;
+    private static final int PRERENDER_SAMPLES = 32;
+
+    private final MetricsRing drawNanos = new MetricsRing(FRAME_SAMPLES);
+    private final MetricsRing tickNanos = new MetricsRing(FRAME_SAMPLES);
+    private final MetricsRing prerenderNanos = new MetricsRing(PRERENDER_SAMPLES);
+
+    private volatile long frameIntervalNanos;
+    private volatile boolean animating;
+    private volatile boolean windowFrames;
+    private volatile long frames;
+    private volatile long jankyFrames;
+    private volatile long droppedFrames;
+    private long lastFrameNanos;
+
+    WheelMetrics(long frameIntervalNanos) {
+        this.frameIntervalNanos = frameIntervalNanos;
+    }
+
+    void setFrameIntervalNanos(long frameIntervalNanos) {
+        this.frameIntervalNanos = frameIntervalNanos;
+    }
+
+    //window frame metrics take over frame counting from the animation frame gaps
+    void setWindowFrames(boolean windowFrames) {
+        this.windowFrames = windowFrames;
+    }
+
+    boolean isAnimating() {
+        return this.animating;
+    }
+
+    void recordDraw(long nanos) {
+        this.drawNanos.add(nanos);
+    }
+
+    void recordPrerender(long nanos) {
+        this.prerenderNanos.add(nanos);
+    }
+
+    void recordTick(long frameTimeNanos, long nanos) {
+        this.tickNanos.add(nanos);
+        this.animating = true;
+        if (!this.windowFrames && this.lastFrameNanos != 0) {
+            long interval = this.frameIntervalNanos;
+            recordFrame(Math.round((double) (frameTimeNanos - this.lastFrameNanos) / interval) - 1);
+        }
+        this.lastFrameNanos = frameTimeNanos;
+    }
+
+    //the next tick starts a new animation, the idle time before it is no gap
+    void endFrames() {
+        this.animating = false;
+        this.lastFrameNanos = 0;
+    }
+
+    void recordFrameDuration(long totalNanos) {
+        long interval = this.frameIntervalNanos;
+        recordFrame(totalNanos > interval ? (totalNanos - 1) / interval : 0);
+    }
+
+    private void recordFrame(long dropped) {
+        this.frames++;
+        if (dropped > 0) {
+            this.jankyFrames++;
+            this.droppedFrames += dropped;
+        }
+    }
+
+    /**
+     * Copies the current samples. Not meant for every frame, the copy allocates.
+     */
+    Snapshot snapshot(long bitmapBytes) {
+        return new Snapshot(
+                sorted(this.drawNanos),
+                sorted(this.tickNanos),
+                sorted(this.prerenderNanos),
+                this.frames,
+                this.jankyFrames,
+                this.droppedFrames,
+                bitmapBytes);
+    }
+
+    private static long[] sorted(MetricsRing ring) {
+        long[] samples = new long[ring.getCapacity()];
+        int count = ring.copyTo(samples);
+        samples = Arrays.copyOf(samples, count);
+        Arrays.sort(samples);
+        return samples;
+    }
+
+    /**
+     * Samples of the most recent frames and renders. Percentiles are nearest rank over the
+     * retained samples and 0 while there are none.
+     */
+    public static final class Snapshot {
+
+        private final long[] drawNanos;
+        private final long[] tickNanos;
+        private final long[] prerenderNanos;
+        private final long frames;
+        private final long jankyFrames;
+        private final long droppedFrames;
+        private final long bitmapBytes;
+
+        Snapshot(long[] drawNanos, long[] tickNanos, long[] prerenderNanos,
+                 long frames, long jankyFrames, long droppedFrames, long bitmapBytes) {
+            this.drawNanos = drawNanos;
+            this.tickNanos = tickNanos;
+            this.prerenderNanos = prerenderNanos;
+            this.frames = frames;
+            this.jankyFrames = jankyFrames;
+            this.droppedFrames = droppedFrames;
+            this.bitmapBytes = bitmapBytes;
+        }
+
+        //onDraw through dispatchDraw
+        public long getDrawNanos(float percentile) {
+            return percentile(this.drawNanos, percentile);
+        }
+
+        //engine step and view update of one animation frame
+        public long getTickNanos(float percentile) {
+            return percentile(this.tickNanos, percentile);
+        }
+
+        //off-thread render of a configuration that was not cached yet
+        public long getPrerenderNanos(float percentile) {
+            return percentile(this.prerenderNanos, percentile);
+        }
+
+        public int getDrawSamples() {
+            return this.drawNanos.length;
+        }
+
+        public int getTickSamples() {
+            return this.tickNanos.length;
+        }
+
+        public int getPrerenderSamples() {
+            return this.prerenderNanos.length;
+        }
+
+        public long getFrames() {
+            return this.frames;
+        }
+
+        public long getJankyFrames() {
+            return this.jankyFrames;
+        }
+
+        public long getDroppedFrames() {
+            return this.droppedFrames;
+        }
+
+        public long getBitmapBytes() {
+            return this.bitmapBytes;
+        }
+
+        private static long percentile(long[] sorted, float percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100f * sorted.length);
+            return sorted[Math.min(sorted.length, Math.max(1, rank)) - 1];
+        }
+    }
+}
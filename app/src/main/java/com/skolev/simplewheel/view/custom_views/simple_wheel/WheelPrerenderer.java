@@ -0,0 +1,144 @@
+package com.skolev.simplewheel.view.custom_views.simple_wheel;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Builds the wheel assets off the UI thread. Every request bumps a generation counter, so
+ * results of a render that was overtaken by a size or sector change are not delivered; the
+ * worker also checks the generation between the stages to stop early. Finished stages still
+ * land in {@link WheelBitmapCache}.
+ */
+final class WheelPrerenderer {
+
+    interface Callback {
+
+        void onAssetsReady(Bitmap wheel, Bitmap pointer, Bitmap sectors);
+    }
+
+    private interface Stage {
+
+        Bitmap render();
+    }
+
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "wheel-prerender");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.NORM_PRIORITY - 1);
+        return thread;
+    });
+
+    private final WheelRenderer renderer;
+    private final Handler mainHandler;
+    private final AtomicInteger generation;
+    private volatile WheelMetrics metrics;
+
+    WheelPrerenderer(Context context) {
+        this.renderer = new WheelRenderer(context);
+        this.mainHandler = new Handler(Looper.getMainLooper());
+        this.generation = new AtomicInteger();
+    }
+
+    /**
+     * Delivers the assets for {@code spec} on the main thread. Fully cached configurations are
+     * delivered synchronously. The delivered bitmaps are already acquired from
+     * {@link WheelBitmapCache} on behalf of the callback, which has to release them.
+     */
+    void request(WheelRenderSpec spec, Callback callback) {
+        cancel();
+        final int requestGeneration = this.generation.get();
+        final WheelBitmapCache cache = WheelBitmapCache.getInstance();
+
+        Bitmap wheel = cache.acquire(spec.wheelKey());
+        Bitmap pointer = cache.acquire(spec.pointerKey());
+        Bitmap sectors = cache.acquire(spec.sectorsKey());
+
+        if (wheel != null && pointer != null && sectors != null) {
+            callback.onAssetsReady(wheel, pointer, sectors);
+            return;
+        }
+        EXECUTOR.execute(() -> {
+            WheelMetrics metrics = this.metrics;
+            long renderStart = metrics != null ? System.nanoTime() : 0;
+            Bitmap renderedWheel = wheel;
+            Bitmap renderedPointer = pointer;
+            Bitmap renderedSectors = sectors;
+
+            if (renderedWheel == null && !isStale(requestGeneration)) {
+                renderedWheel = acquireOrRender(cache, spec.wheelKey(), () -> this.renderer.renderWheel(spec));
+            }
+            //unreadable artwork is not cached, the next request tries it again
+            if (renderedWheel == null && !isStale(requestGeneration)) {
+                WheelRenderSpec drawn = spec.drawn();
+                renderedWheel = acquireOrRender(cache, drawn.wheelKey(), () -> this.renderer.renderWheel(drawn));
+            }
+            if (renderedPointer == null && !isStale(requestGeneration)) {
+                renderedPointer = acquireOrRender(cache, spec.pointerKey(), () -> this.renderer.renderPointer(spec));
+            }
+            if (renderedPointer == null && !isStale(requestGeneration)) {
+                WheelRenderSpec drawn = spec.drawn();
+                renderedPointer = acquireOrRender(cache, drawn.pointerKey(), () -> this.renderer.renderPointer(drawn));
+            }
+            if (renderedSectors == null && !isStale(requestGeneration)) {
+                renderedSectors = acquireOrRender(cache, spec.sectorsKey(), () -> this.renderer.renderSectors(spec));
+            }
+            if (metrics != null && !isStale(requestGeneration)) {
+                metrics.recordPrerender(System.nanoTime() - renderStart);
+            }
+            deliver(requestGeneration, callback, renderedWheel, renderedPointer, renderedSectors);
+        });
+    }
+
+    //wheels with the same spec queue the same stages, only the first one renders them
+    private static Bitmap acquireOrRender(WheelBitmapCache cache, WheelBitmapKey key, Stage stage) {
+        Bitmap bitmap = cache.acquire(key);
+        if (bitmap == null) {
+            bitmap = stage.render();
+            if (bitmap != null) {
+                cache.putAcquired(key, bitmap);
+            }
+        }
+        return bitmap;
+    }
+
+    private void deliver(int requestGeneration, Callback callback, Bitmap wheel, Bitmap pointer, Bitmap sectors) {
+        if (isStale(requestGeneration)) {
+            release(wheel, pointer, sectors);
+            return;
+        }
+        this.mainHandler.post(() -> {
+            if (isStale(requestGeneration)) {
+                release(wheel, pointer, sectors);
+            } else {
+                callback.onAssetsReady(wheel, pointer, sectors);
+            }
+        });
+    }
+
+    private static void release(Bitmap wheel, Bitmap pointer, Bitmap sectors) {
+        WheelBitmapCache cache = WheelBitmapCache.getInstance();
+        cache.release(wheel);
+        cache.release(pointer);
+        cache.release(sectors);
+    }
+
+    //null while metrics are off
+    void setMetrics(WheelMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    //queued work still runs, but only to hand the references it holds back to the cache
+    void cancel() {
+        this.generation.incrementAndGet();
+    }
+
+    private boolean isStale(int requestGeneration) {
+        return this.generation.get() != requestGeneration;
+    }
+}
@@ -0,0 +1,171 @@
+package com.skolev.simplewheel.view.custom_views.simple_wheel;
+
+import androidx.annotation.NonNull;
+
+import com.skolev.simplewheel.engine.OutcomeSource;
+import com.skolev.simplewheel.engine.OutcomeSources;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spins several wheels together like the reels of a slot machine. All wheels are stepped from
+ * one shared frame callback, their outcomes are decided in one batch and they stop one after
+ * another. Wheels of the same size, sectors and artwork already share their rendered bitmaps
+ * through the bitmap cache, so another wheel costs its own frame step and draw only.
+ * <p>
+ * Sectors are numbered like {@link SimpleWheelView#setWin(int)}, in the order of the wheels.
+ */
+public final class WheelReel {
+
+    public interface OnReelStopListener {
+
+        void onReelStop(int[] sectors);
+    }
+
+    private static final long DEFAULT_STAGGER_MILLIS = 400;
+
+    private final SimpleWheelView[] wheels;
+    private final WheelFrameClock clock;
+    private final int[] sectors;
+    private final Runnable[] pendingWins;
+    private OutcomeSource outcomeSource;
+    private long staggerNanos;
+    private boolean spinning;
+    private WeakReference<OnReelStopListener> listener;
+
+    public WheelReel(@NonNull SimpleWheelView... wheels) {
+        if (wheels.length == 0) {
+            throw new IllegalArgumentException("A reel needs at least one wheel");
+        }
+        this.wheels = wheels.clone();
+        this.clock = new WheelFrameClock();
+        this.clock.setIdleCallback(this::onIdle);
+        this.sectors = new int[wheels.length];
+        this.pendingWins = new Runnable[wheels.length];
+        this.outcomeSource = OutcomeSources.fast();
+        this.staggerNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_STAGGER_MILLIS);
+
+        for (SimpleWheelView wheel : this.wheels) {
+            wheel.setFrameClock(this.clock);
+        }
+    }
+
+    public void setOutcomeSource(@NonNull OutcomeSource outcomeSource) {
+        this.outcomeSource = outcomeSource;
+    }
+
+    public OutcomeSource getOutcomeSource() {
+        return this.outcomeSource;
+    }
+
+    //time between the stops of two neighbouring wheels
+    public void setStagger(long millis) {
+        this.staggerNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, millis));
+    }
+
+    public void setListener(OnReelStopListener listener) {
+        this.listener = new WeakReference<>(listener);
+    }
+
+    public boolean isSpinning() {
+        return this.spinning;
+    }
+
+    public int getWheelCount() {
+        return this.wheels.length;
+    }
+
+    //draws all outcomes from the outcome source up front, then lands the wheels one by one
+    public void spin(int rotationDirection) {
+        for (int i = 0; i < this.wheels.length; i++) {
+            this.sectors[i] = this.wheels[i].drawSector(this.outcomeSource);
+        }
+        land(rotationDirection);
+    }
+
+    //lands every wheel on its sector, each one a stagger after the one before
+    public void spinToSectors(@NonNull int[] sectors, int rotationDirection) {
+        checkCount(sectors);
+        System.arraycopy(sectors, 0, this.sectors, 0, this.sectors.length);
+        land(rotationDirection);
+    }
+
+    /**
+     * Spins until {@link #setWins(int[])}, for outcomes decided elsewhere, e.g. by one backend
+     * call for all wheels.
+     */
+    public void startSpin(int rotationDirection) {
+        cancelPendingWins();
+        this.spinning = true;
+        for (SimpleWheelView wheel : this.wheels) {
+            wheel.spinForReel(rotationDirection);
+        }
+    }
+
+    //the first wheel gets its win at once, every further one a stagger later
+    public void setWins(@NonNull int[] sectors) {
+        checkCount(sectors);
+        cancelPendingWins();
+        System.arraycopy(sectors, 0, this.sectors, 0, this.sectors.length);
+
+        for (int i = 0; i < this.wheels.length; i++) {
+            final SimpleWheelView wheel = this.wheels[i];
+            final int sector = sectors[i];
+            if (i == 0) {
+                wheel.setReelWin(sector);
+                continue;
+            }
+            this.pendingWins[i] = () -> wheel.setReelWin(sector);
+            wheel.postDelayed(this.pendingWins[i], TimeUnit.NANOSECONDS.toMillis(i * this.staggerNanos));
+        }
+    }
+
+    //the wheels keep working on their own afterwards, each with a frame callback of its own
+    public void destroy() {
+        cancelPendingWins();
+        this.spinning = false;
+        for (SimpleWheelView wheel : this.wheels) {
+            wheel.setFrameClock(new WheelFrameClock());
+        }
+        if (this.listener != null) {
+            this.listener.clear();
+            this.listener = null;
+        }
+    }
+
+    private void land(int rotationDirection) {
+        cancelPendingWins();
+        this.spinning = true;
+        for (int i = 0; i < this.wheels.length; i++) {
+            SimpleWheelView wheel = this.wheels[i];
+            wheel.landForReel(this.sectors[i], rotationDirection, wheel.getLandingDuration() + i * this.staggerNanos);
+        }
+    }
+
+    private void onIdle() {
+        if (!this.spinning) {
+            return;
+        }
+        this.spinning = false;
+        if (this.listener != null && this.listener.get() != null) {
+            this.listener.get().onReelStop(this.sectors.clone());
+        }
+    }
+
+    private void cancelPendingWins() {
+        for (int i = 0; i < this.pendingWins.length; i++) {
+            if (this.pendingWins[i] != null) {
+                this.wheels[i].removeCallbacks(this.pendingWins[i]);
+                this.pendingWins[i] = null;
+            }
+        }
+    }
+
+    private void checkCount(int[] sectors) {
+        if (sectors.length != this.wheels.length) {
+            throw new IllegalArgumentException("Got " + sectors.length
+                    + " sectors for a reel of " + this.wheels.length + " wheels");
+        }
+    }
+}
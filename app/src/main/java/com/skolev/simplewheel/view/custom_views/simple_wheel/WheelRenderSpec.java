@@ -0,0 +1,124 @@
+package com.skolev.simplewheel.view.custom_views.simple_wheel;
+
+import com.skolev.simplewheel.engine.SectorLayout;
+
+final class WheelRenderSpec {
+
+    static final String NUMERIC_LABELS = "numeric";
+
+    final int wheelSize;
+    final int centerRadius;
+    final int sectors;
+    final int pointerWidth;
+    final int pointerHeight;
+    final WheelAsset wheelAsset;
+    final WheelAsset pointerAsset;
+    final String labels;
+    final SectorLayout layout;
+    final int memoryMode;
+    final boolean diskCache;
+
+    WheelRenderSpec(Wheel wheel, Pointer pointer, WheelAsset wheelAsset, WheelAsset pointerAsset,
+                    String labels, SectorLayout layout, int memoryMode, boolean diskCache) {
+        this.wheelSize = wheel.radius << 1;
+        this.centerRadius = wheel.centerRadius;
+        this.sectors = wheel.sectors;
+        this.pointerWidth = pointer.width;
+        this.pointerHeight = pointer.height;
+        this.wheelAsset = wheelAsset;
+        this.pointerAsset = pointerAsset;
+        this.labels = labels;
+        this.layout = layout;
+        this.memoryMode = memoryMode;
+        this.diskCache = diskCache;
+    }
+
+    private WheelRenderSpec(WheelRenderSpec spec) {
+        this.wheelSize = spec.wheelSize;
+        this.centerRadius = spec.centerRadius;
+        this.sectors = spec.sectors;
+        this.pointerWidth = spec.pointerWidth;
+        this.pointerHeight = spec.pointerHeight;
+        this.wheelAsset = null;
+        this.pointerAsset = null;
+        this.labels = spec.labels;
+        this.layout = spec.layout;
+        this.memoryMode = spec.memoryMode;
+        this.diskCache = spec.diskCache;
+    }
+
+    //the drawn default that unreadable artwork falls back to, keyed like any drawn wheel
+    WheelRenderSpec drawn() {
+        return isCustom() ? new WheelRenderSpec(this) : this;
+    }
+
+    boolean isCustom() {
+        return this.wheelAsset != null && this.pointerAsset != null;
+    }
+
+    float degreesSector() {
+        return 360f / this.sectors;
+    }
+
+    //slots are the sectors in drawing order, clockwise from the one under the pointer at rest
+
+    static float slotCenter(SectorLayout layout, int sectors, int slot) {
+        return layout == null ? 360f / sectors * slot : layout.getSlotCenter(slot);
+    }
+
+    static float slotEnd(SectorLayout layout, int sectors, int slot) {
+        if (layout == null) {
+            float degreesSector = 360f / sectors;
+            return degreesSector / 2f + degreesSector * slot;
+        }
+        return layout.getSlotStart(slot) + layout.getSlotArc(slot);
+    }
+
+    //label text size, half the outer arc length of the slot
+    static int labelSize(SectorLayout layout, int sectors, int wheelSize, int slot) {
+        if (layout == null) {
+            return (int) (Math.PI * wheelSize) / (sectors << 1);
+        }
+        return (int) (Math.PI * wheelSize * layout.getSlotArc(slot) / 360f) >> 1;
+    }
+
+    private String layoutKey() {
+        return this.layout != null ? this.layout.getSignature() : null;
+    }
+
+    WheelBitmapKey wheelKey() {
+        return new WheelBitmapKey(
+                WheelBitmapKey.TYPE_WHEEL,
+                this.wheelSize,
+                this.wheelSize,
+                isCustom() ? 0 : this.sectors,
+                isCustom() ? this.wheelAsset.getKey() : null,
+                null,
+                isCustom() ? null : layoutKey(),
+                this.memoryMode);
+    }
+
+    WheelBitmapKey pointerKey() {
+        return new WheelBitmapKey(
+                WheelBitmapKey.TYPE_POINTER,
+                this.pointerWidth,
+                this.pointerHeight,
+                0,
+                isCustom() ? this.pointerAsset.getKey() : null,
+                null,
+                null,
+                this.memoryMode);
+    }
+
+    WheelBitmapKey sectorsKey() {
+        return new WheelBitmapKey(
+                WheelBitmapKey.TYPE_SECTORS,
+                this.wheelSize,
+                this.wheelSize,
+                this.sectors,
+                null,
+                this.labels,
+                layoutKey(),
+                this.memoryMode);
+    }
+}
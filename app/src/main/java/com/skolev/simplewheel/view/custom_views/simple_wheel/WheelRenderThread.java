@@ -0,0 +1,321 @@
+package com.skolev.simplewheel.view.custom_views.simple_wheel;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.ColorFilter;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.PorterDuff;
+import android.os.Build;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.os.Process;
+import android.view.Choreographer;
+import android.view.Surface;
+import android.view.SurfaceHolder;
+
+import com.skolev.simplewheel.engine.SectorCrossings;
+import com.skolev.simplewheel.engine.WheelEngine;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Steps and draws the wheel of a {@link SurfaceWheelView} on a thread of its own, paced by that
+ * thread's vsync, so a busy UI thread delays neither the spin nor its frames. The UI thread
+ * only feeds inputs like spins, flings, wins and drags into the engine and publishes everything
+ * a frame draws to the {@link WheelStateBuffer}; phase changes and sector crossings are handed
+ * back to it in batches.
+ * <p>
+ * The engine is guarded by its own monitor, held on either thread only while the engine is
+ * stepped, changed or read, never while drawing. Paints and renderer are the thread's own.
+ */
+final class WheelRenderThread implements Choreographer.FrameCallback {
+
+    private final SimpleWheelView view;
+    private final WheelEngine engine;
+    private final WheelStateBuffer state;
+    private final HandlerThread thread;
+    private final Handler handler;
+    private final Handler uiHandler;
+    private final AtomicBoolean requested;
+    private final Runnable scheduleFrame = this::scheduleFrame;
+    private final Runnable deliverEvents = this::deliverEvents;
+    private final Object surfaceLock = new Object();
+    private final Object eventLock = new Object();
+    private final Matrix wheelMatrix = new Matrix();
+    private final Matrix pointerMatrix = new Matrix();
+    private final Paint paint = SimpleWheelView.createBitmapPaint();
+    private final Paint textPaint = SimpleWheelView.createTextPaint();
+    private final Paint placeholderPaint = SimpleWheelView.createPlaceholderPaint();
+    private final ColorFilter greyFilter = SimpleWheelView.createGreyFilter();
+    private final VectorWheelRenderer vectorRenderer = new VectorWheelRenderer();
+    private final Wheel wheelShape = new Wheel(0, 0, 0);
+    private final Pointer pointerShape = new Pointer(0, 0);
+    private volatile WheelMetrics metrics;
+    //written under the engine lock
+    private volatile boolean stepping;
+    //written under the engine lock by the render thread, counts the steps
+    private long engineFrame;
+
+    //guarded by surfaceLock
+    private SurfaceHolder holder;
+    //guarded by eventLock, phases of the first and the last frame since the last delivery
+    private SectorCrossings pendingCrossings = new SectorCrossings();
+    private int pendingPreviousPhase = WheelEngine.NONE;
+    private int pendingPhase;
+    private boolean eventsPosted;
+    //UI thread only
+    private SectorCrossings deliveredCrossings = new SectorCrossings();
+    //render thread only
+    private Choreographer choreographer;
+    //render thread only, the angles of the last step
+    private float rotation;
+    private float pointerAngle;
+
+    WheelRenderThread(SimpleWheelView view) {
+        this.view = view;
+        this.engine = view.getEngine();
+        this.state = new WheelStateBuffer();
+        this.requested = new AtomicBoolean();
+        this.thread = new HandlerThread("wheel-render", Process.THREAD_PRIORITY_DISPLAY);
+        this.thread.start();
+        this.handler = new Handler(this.thread.getLooper());
+        this.uiHandler = new Handler(Looper.getMainLooper());
+    }
+
+    WheelStateBuffer getState() {
+        return this.state;
+    }
+
+    //under the engine lock, a state published with the current count has the newest angles
+    long getEngineFrame() {
+        return this.engineFrame;
+    }
+
+    //null while the surface does not exist, returns only after a draw into the old surface finished
+    void setSurface(SurfaceHolder holder) {
+        synchronized (this.surfaceLock) {
+            this.holder = holder;
+        }
+        requestFrame();
+    }
+
+    //null while metrics are off
+    void setMetrics(WheelMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    //any thread, requests made before the next frame are drawn together
+    void requestFrame() {
+        if (this.requested.compareAndSet(false, true)) {
+            this.handler.post(this.scheduleFrame);
+        }
+    }
+
+    /**
+     * UI thread, the engine is stepped on the render thread from its next frame on until it
+     * stops animating. Events of an earlier spin still on their way are delivered first.
+     */
+    void startEngine() {
+        deliverEvents();
+        synchronized (this.engine) {
+            this.stepping = true;
+        }
+        requestFrame();
+    }
+
+    void quit() {
+        this.stepping = false;
+        this.uiHandler.removeCallbacks(this.deliverEvents);
+        setSurface(null);
+        this.handler.post(() -> {
+            if (this.choreographer != null) {
+                this.choreographer.removeFrameCallback(this);
+            }
+            //no frame follows, the view has stopped publishing
+            this.state.releaseBitmaps();
+        });
+        this.thread.quitSafely();
+    }
+
+    private void scheduleFrame() {
+        if (this.choreographer == null) {
+            this.choreographer = Choreographer.getInstance();
+        }
+        this.choreographer.postFrameCallback(this);
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        this.requested.set(false);
+        if (this.stepping) {
+            stepEngine(frameTimeNanos);
+        }
+        this.state.acquire();
+        WheelStateBuffer.State current = this.state.current();
+        if (current.version == 0) {
+            return;
+        }
+        //a state published after the last step also has what the UI thread did to the engine since
+        boolean published = current.engineFrame == this.engineFrame;
+        float rotation = published ? current.rotation : this.rotation;
+        float pointerAngle = published ? current.pointerAngle : this.pointerAngle;
+        WheelMetrics metrics = this.metrics;
+        long drawStart = metrics != null ? System.nanoTime() : 0;
+
+        synchronized (this.surfaceLock) {
+            if (this.holder == null) {
+                return;
+            }
+            Surface surface = this.holder.getSurface();
+            if (surface == null || !surface.isValid()) {
+                return;
+            }
+            //the hardware canvas also draws hardware bitmaps of MEMORY_MODE_HARDWARE
+            Canvas canvas = Build.VERSION.SDK_INT >= Build.VERSION_CODES.M
+                    ? surface.lockHardwareCanvas()
+                    : this.holder.lockCanvas();
+            if (canvas == null) {
+                return;
+            }
+            //the slot references its bitmaps until the writer gets it back, which is after the post
+            try {
+                drawFrame(canvas, current, rotation, pointerAngle);
+            } finally {
+                if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+                    surface.unlockCanvasAndPost(canvas);
+                } else {
+                    this.holder.unlockCanvasAndPost(canvas);
+                }
+            }
+        }
+        if (metrics != null) {
+            metrics.recordDraw(System.nanoTime() - drawStart);
+        }
+    }
+
+    private void stepEngine(long frameTimeNanos) {
+        WheelMetrics metrics = this.metrics;
+        long tickStart = metrics != null ? System.nanoTime() : 0;
+
+        int previousPhase;
+        int phase;
+        boolean animating;
+        synchronized (this.engine) {
+            previousPhase = this.engine.getPhase();
+            phase = this.engine.step(frameTimeNanos);
+            animating = this.engine.isAnimating();
+            this.rotation = this.engine.getRotationAngle();
+            this.pointerAngle = this.engine.getPointerAngle();
+            this.engineFrame++;
+            //decided under the engine lock, a spin started meanwhile sets it again afterwards
+            if (!animating) {
+                this.stepping = false;
+            }
+            queueEvents(previousPhase, phase, this.engine.getCrossings());
+        }
+
+        if (metrics != null) {
+            metrics.recordTick(frameTimeNanos, System.nanoTime() - tickStart);
+        }
+        if (animating) {
+            if (this.requested.compareAndSet(false, true)) {
+                this.choreographer.postFrameCallback(this);
+            }
+        } else if (metrics != null) {
+            metrics.endFrames();
+        }
+    }
+
+    /**
+     * Wheel, pointer and center text drawn like {@link SimpleWheelView#onDraw(Canvas)} and
+     * {@link SimpleWheelView#dispatchDraw(Canvas)} would, from the published state only.
+     */
+    private void drawFrame(Canvas canvas, WheelStateBuffer.State state, float rotation, float pointerAngle) {
+        canvas.drawColor(Color.TRANSPARENT, PorterDuff.Mode.CLEAR);
+        if (state.radius <= 0) {
+            return;
+        }
+        this.pointerMatrix.setTranslate(state.pointerLeft, state.pointerTop);
+        this.pointerMatrix.postRotate(pointerAngle, state.wheelCenterX, state.pointerTop);
+
+        if (state.vector) {
+            this.wheelShape.radius = state.radius;
+            this.wheelShape.centerRadius = state.centerRadius;
+            this.wheelShape.sectors = state.sectors;
+            this.pointerShape.width = state.pointerWidth;
+            this.pointerShape.height = state.pointerHeight;
+            this.vectorRenderer.update(this.wheelShape, this.pointerShape, state.layout);
+            this.vectorRenderer.setColorFilter(state.greyed ? this.greyFilter : null);
+            this.vectorRenderer.drawWheel(
+                    canvas,
+                    state.wheelLeft,
+                    state.wheelTop,
+                    rotation,
+                    state.wheelCenterX,
+                    state.wheelCenterY);
+            this.vectorRenderer.drawPointer(canvas, this.pointerMatrix);
+        } else {
+            if (state.wheelBitmap == null) {
+                canvas.drawCircle(state.wheelCenterX, state.wheelCenterY, state.radius, this.placeholderPaint);
+            } else {
+                this.wheelMatrix.setTranslate(state.wheelLeft, state.wheelTop);
+                this.wheelMatrix.postRotate(rotation, state.wheelCenterX, state.wheelCenterY);
+                this.paint.setColorFilter(state.greyed ? this.greyFilter : null);
+                canvas.drawBitmap(state.wheelBitmap, this.wheelMatrix, this.paint);
+                if (state.sectorsBitmap != null) {
+                    canvas.drawBitmap(state.sectorsBitmap, this.wheelMatrix, this.paint);
+                }
+                this.paint.setColorFilter(null);
+            }
+            if (state.pointerBitmap != null) {
+                canvas.drawBitmap(state.pointerBitmap, this.pointerMatrix, this.paint);
+            }
+        }
+        if (state.centerText != null) {
+            if (this.textPaint.getTextSize() != state.centerTextSize) {
+                this.textPaint.setTextSize(state.centerTextSize);
+            }
+            canvas.drawText(state.centerText, state.centerTextX, state.centerTextY, this.textPaint);
+        }
+    }
+
+    //render thread, one post to the UI thread carries every frame until it runs
+    private void queueEvents(int previousPhase, int phase, SectorCrossings crossings) {
+        if (previousPhase == phase && crossings.getCount() == 0) {
+            return;
+        }
+        synchronized (this.eventLock) {
+            this.pendingCrossings.addAll(crossings);
+            if (this.pendingPreviousPhase == WheelEngine.NONE) {
+                this.pendingPreviousPhase = previousPhase;
+            }
+            this.pendingPhase = phase;
+            if (!this.eventsPosted) {
+                this.eventsPosted = true;
+                this.uiHandler.post(this.deliverEvents);
+            }
+        }
+    }
+
+    //UI thread
+    private void deliverEvents() {
+        int previousPhase;
+        int phase;
+        synchronized (this.eventLock) {
+            if (this.pendingPreviousPhase == WheelEngine.NONE) {
+                return;
+            }
+            SectorCrossings crossings = this.pendingCrossings;
+            this.pendingCrossings = this.deliveredCrossings;
+            this.deliveredCrossings = crossings;
+            this.pendingCrossings.clear();
+            previousPhase = this.pendingPreviousPhase;
+            phase = this.pendingPhase;
+            this.pendingPreviousPhase = WheelEngine.NONE;
+            this.eventsPosted = false;
+        }
+        this.view.onRenderedFrames(previousPhase, phase, this.deliveredCrossings);
+    }
+}
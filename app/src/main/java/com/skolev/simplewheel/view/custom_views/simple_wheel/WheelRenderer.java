@@ -0,0 +1,326 @@
+package com.skolev.simplewheel.view.custom_views.simple_wheel;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.os.Build;
+import android.util.Log;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Draws the wheel, pointer and sector label bitmaps for a {@link WheelRenderSpec}.
+ * Owns its paints so it can run on a worker thread next to the view drawing.
+ */
+final class WheelRenderer {
+
+    private static final String TAG = "WheelRenderer";
+
+    //part of the disk cache key, anything that changes the drawn pixels belongs here
+    private static final String STYLE = "stroke5"
+            + "|lod" + WheelDetail.MIN_DIVIDER_SPACING + "," + WheelDetail.MIN_LABEL_SIZE + "," + WheelDetail.MAX_LABELS
+            + "|" + Integer.toHexString(Color.RED)
+            + "|" + Integer.toHexString(Color.LTGRAY)
+            + "|" + Integer.toHexString(Color.YELLOW)
+            + "|" + Integer.toHexString(Color.GREEN)
+            + "|" + Integer.toHexString(Color.BLACK);
+
+    private final Context context;
+    private final Paint paint;
+    private final Paint textPaint;
+    private final Paint scalePaint;
+    private final Rect scaleRect;
+    private final BitmapFactory.Options opt;
+    private final WheelBitmapPool pool;
+    private final WheelDiskCache diskCache;
+    private final WheelDetail detail;
+    private float[] lines;
+
+    WheelRenderer(Context context) {
+        this.context = context.getApplicationContext();
+
+        this.paint = new Paint(
+                Paint.ANTI_ALIAS_FLAG
+                        | Paint.FILTER_BITMAP_FLAG
+                        | Paint.DITHER_FLAG);
+
+        this.textPaint = new Paint(
+                Paint.ANTI_ALIAS_FLAG
+                        | Paint.SUBPIXEL_TEXT_FLAG
+                        | Paint.LINEAR_TEXT_FLAG);
+        this.textPaint.setColor(Color.BLACK);
+        this.textPaint.setTextAlign(Paint.Align.CENTER);
+
+        this.scalePaint = new Paint(Paint.FILTER_BITMAP_FLAG | Paint.DITHER_FLAG);
+        this.scaleRect = new Rect();
+
+        this.opt = new BitmapFactory.Options();
+        this.opt.inMutable = true;
+        this.opt.inPreferredConfig = Bitmap.Config.ARGB_8888;
+
+        this.pool = WheelBitmapPool.getInstance();
+        this.diskCache = WheelDiskCache.getInstance(this.context);
+        this.detail = new WheelDetail();
+        this.lines = new float[0];
+    }
+
+    //null when the custom artwork cannot be read, the caller falls back to WheelRenderSpec.drawn()
+    Bitmap renderWheel(WheelRenderSpec spec) {
+        String style = wheelStyle(spec);
+        Bitmap stored = load(spec, spec.wheelKey(), style);
+        if (stored != null) {
+            return stored;
+        }
+        if (spec.isCustom()) {
+            Bitmap.Config config = spec.memoryMode == SimpleWheelView.MEMORY_MODE_LOW
+                    ? Bitmap.Config.RGB_565
+                    : Bitmap.Config.ARGB_8888;
+            Bitmap decoded = decodeAsset(spec.wheelAsset, spec.wheelSize, spec.wheelSize, config);
+            return decoded != null ? store(spec, spec.wheelKey(), style, decoded) : null;
+        }
+        Bitmap wheel = this.pool.obtain(spec.wheelSize, spec.wheelSize, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(wheel);
+
+        int radius = spec.wheelSize >> 1;
+        int centerX = radius;
+        int centerY = radius;
+
+        this.paint.setColor(Color.RED);
+        this.paint.setStrokeWidth(5);
+        canvas.drawCircle(centerX, centerY, radius, this.paint);
+
+        this.paint.setColor(Color.LTGRAY);
+        canvas.drawCircle(centerX, centerY, radius - this.paint.getStrokeWidth(), this.paint);
+
+        this.paint.setColor(Color.RED);
+        drawDividers(canvas, spec, radius);
+
+        this.paint.setColor(Color.YELLOW);
+        canvas.drawCircle(centerX, centerY, spec.centerRadius, this.paint);
+        return store(spec, spec.wheelKey(), style, wheel);
+    }
+
+    //null when the custom artwork cannot be read, like renderWheel
+    Bitmap renderPointer(WheelRenderSpec spec) {
+        String style = pointerStyle(spec);
+        Bitmap stored = load(spec, spec.pointerKey(), style);
+        if (stored != null) {
+            return stored;
+        }
+        if (spec.isCustom()) {
+            Bitmap decoded = decodeAsset(
+                    spec.pointerAsset,
+                    spec.pointerWidth,
+                    spec.pointerHeight,
+                    Bitmap.Config.ARGB_8888);
+            return decoded != null ? store(spec, spec.pointerKey(), style, decoded) : null;
+        }
+        this.paint.setColor(Color.GREEN);
+        this.paint.setStrokeWidth(5);
+        Bitmap pointer = this.pool.obtain(spec.pointerWidth, spec.pointerHeight, Bitmap.Config.ARGB_8888);
+
+        Canvas canvas = new Canvas(pointer);
+        canvas.drawLine(pointer.getWidth(), 0, pointer.getWidth() >> 1, pointer.getHeight(), this.paint);
+        canvas.drawLine(0, 0, pointer.getWidth() >> 1, pointer.getHeight(), this.paint);
+        canvas.drawLine(0, 0, pointer.getWidth(), 0, this.paint);
+        return store(spec, spec.pointerKey(), style, pointer);
+    }
+
+    //labels are plain black coverage, the low memory mode keeps only the alpha channel
+    Bitmap renderSectors(WheelRenderSpec spec) {
+        Bitmap stored = load(spec, spec.sectorsKey(), STYLE);
+        if (stored != null) {
+            return stored;
+        }
+        Bitmap.Config config = spec.memoryMode == SimpleWheelView.MEMORY_MODE_LOW
+                ? Bitmap.Config.ALPHA_8
+                : Bitmap.Config.ARGB_8888;
+        Bitmap sectors = this.pool.obtain(spec.wheelSize, spec.wheelSize, config);
+
+        Canvas wheelCanvas = new Canvas(sectors);
+        int margin = wheelCanvas.getHeight() >> 4;
+        int centerX = wheelCanvas.getWidth() >> 1;
+        int centerY = wheelCanvas.getHeight() >> 1;
+
+        this.detail.compute(spec.layout, spec.sectors, spec.wheelSize);
+        for (int label = 0; label < this.detail.labelCount; label++) {
+            int i = this.detail.labels[label];
+            String text = Integer.toString(spec.sectors - i);
+            int dstWidth = this.detail.labelSizes[label];
+            this.textPaint.setTextSize(dstWidth);
+
+            wheelCanvas.save();
+            wheelCanvas.rotate(WheelRenderSpec.slotCenter(spec.layout, spec.sectors, i), centerX, centerY);
+            wheelCanvas.drawText(
+                    text,
+                    0,
+                    text.length(),
+                    centerX,
+                    margin + dstWidth,
+                    this.textPaint);
+            wheelCanvas.restore();
+        }
+        return store(spec, spec.sectorsKey(), STYLE, sectors);
+    }
+
+    //one batched drawLines call for the dividers the level of detail keeps
+    private void drawDividers(Canvas canvas, WheelRenderSpec spec, int radius) {
+        this.detail.compute(spec.layout, spec.sectors, spec.wheelSize);
+        int count = this.detail.dividerCount << 2;
+        if (this.lines.length < count) {
+            this.lines = new float[count];
+        }
+        for (int i = 0; i < this.detail.dividerCount; i++) {
+            int slot = this.detail.dividers[i];
+            double angle = Math.toRadians(WheelRenderSpec.slotEnd(spec.layout, spec.sectors, slot));
+            float sin = (float) Math.sin(angle);
+            float cos = (float) Math.cos(angle);
+
+            int offset = i << 2;
+            this.lines[offset] = radius + radius * sin;
+            this.lines[offset + 1] = radius - radius * cos;
+            this.lines[offset + 2] = radius + spec.centerRadius * sin;
+            this.lines[offset + 3] = radius - spec.centerRadius * cos;
+        }
+        canvas.drawLines(this.lines, 0, count, this.paint);
+    }
+
+    //null when the pixels depend on something the key cannot describe
+    private static String wheelStyle(WheelRenderSpec spec) {
+        if (spec.isCustom()) {
+            String source = spec.wheelAsset.getPersistentKey();
+            return source == null ? null : STYLE + "|" + source;
+        }
+        return STYLE + "|" + spec.centerRadius;
+    }
+
+    private static String pointerStyle(WheelRenderSpec spec) {
+        if (spec.isCustom()) {
+            String source = spec.pointerAsset.getPersistentKey();
+            return source == null ? null : STYLE + "|" + source;
+        }
+        return STYLE;
+    }
+
+    private Bitmap load(WheelRenderSpec spec, WheelBitmapKey key, String style) {
+        if (!spec.diskCache || style == null) {
+            return null;
+        }
+        Bitmap bitmap = this.diskCache.read(key, style);
+        return bitmap == null ? null : finish(bitmap, spec);
+    }
+
+    //stores the software pixels, a hardware copy is made only afterwards
+    private Bitmap store(WheelRenderSpec spec, WheelBitmapKey key, String style, Bitmap bitmap) {
+        if (spec.diskCache && style != null) {
+            this.diskCache.write(key, style, bitmap);
+        }
+        return finish(bitmap, spec);
+    }
+
+    private Bitmap finish(Bitmap bitmap, WheelRenderSpec spec) {
+        if (spec.memoryMode != SimpleWheelView.MEMORY_MODE_HARDWARE
+                || Build.VERSION.SDK_INT < Build.VERSION_CODES.O) {
+            return bitmap;
+        }
+        Bitmap hardware = bitmap.copy(Bitmap.Config.HARDWARE, false);
+        if (hardware == null) {
+            return bitmap;
+        }
+        this.pool.put(bitmap);
+        return hardware;
+    }
+
+    //falls back to the drawn default when the artwork cannot be read
+    private Bitmap decodeAsset(WheelAsset asset, int width, int height, Bitmap.Config config) {
+        try {
+            return decodeSampled(asset, width, height, config);
+        } catch (IOException | RuntimeException e) {
+            Log.e(TAG, "Cannot decode " + asset.getKey(), e);
+            return null;
+        } finally {
+            this.opt.inBitmap = null;
+            this.opt.inSampleSize = 1;
+            this.opt.inScaled = false;
+            this.opt.inDensity = 0;
+            this.opt.inTargetDensity = 0;
+        }
+    }
+
+    /**
+     * Decodes the asset at its target width in one pass: a power of two subsample keeps the
+     * decode at or above the target, the density pair scales the rest inside the decoder.
+     */
+    private Bitmap decodeSampled(WheelAsset asset, int width, int height, Bitmap.Config config)
+            throws IOException {
+        this.opt.inJustDecodeBounds = true;
+        this.opt.inSampleSize = 1;
+        this.opt.inScaled = false;
+        decode(asset);
+        this.opt.inJustDecodeBounds = false;
+
+        if (this.opt.outWidth <= 0 || this.opt.outHeight <= 0) {
+            throw new IOException("Not an image");
+        }
+        int sampleSize = calculateInSampleSize(this.opt.outWidth, this.opt.outHeight, width, height);
+        int sampledWidth = Math.max(1, this.opt.outWidth / sampleSize);
+        int sampledHeight = Math.max(1, this.opt.outHeight / sampleSize);
+
+        this.opt.inSampleSize = sampleSize;
+        this.opt.inPreferredConfig = config;
+        if (sampledWidth != width) {
+            this.opt.inScaled = true;
+            this.opt.inDensity = sampledWidth;
+            this.opt.inTargetDensity = width;
+        }
+        int expectedHeight = Math.round(sampledHeight * (float) width / sampledWidth);
+        this.opt.inBitmap = this.pool.take(width, expectedHeight, config);
+
+        Bitmap decoded;
+        try {
+            decoded = decode(asset);
+        } catch (IllegalArgumentException e) {
+            this.pool.put(this.opt.inBitmap);
+            this.opt.inBitmap = null;
+            decoded = decode(asset);
+        }
+        if (decoded == null) {
+            throw new IOException("Decoder returned no bitmap");
+        }
+        if (decoded.getWidth() == width && decoded.getHeight() == height) {
+            return decoded;
+        }
+        //aspect ratio differs from the target, stretch like the resource path always did
+        Bitmap scaled = this.pool.obtain(
+                width,
+                height,
+                decoded.getConfig() != null ? decoded.getConfig() : Bitmap.Config.ARGB_8888);
+        this.scaleRect.set(0, 0, width, height);
+        new Canvas(scaled).drawBitmap(decoded, null, this.scaleRect, this.scalePaint);
+        this.pool.put(decoded);
+        return scaled;
+    }
+
+    private Bitmap decode(WheelAsset asset) throws IOException {
+        try (InputStream stream = asset.open(this.context)) {
+            return BitmapFactory.decodeStream(stream, null, this.opt);
+        }
+    }
+
+    //largest power of two that keeps both sides at or above the requested size
+    static int calculateInSampleSize(int sourceWidth, int sourceHeight, int width, int height) {
+        int sampleSize = 1;
+        if (width <= 0 || height <= 0) {
+            return sampleSize;
+        }
+        while (sourceWidth / (sampleSize << 1) >= width && sourceHeight / (sampleSize << 1) >= height) {
+            sampleSize <<= 1;
+        }
+        return sampleSize;
+    }
+}
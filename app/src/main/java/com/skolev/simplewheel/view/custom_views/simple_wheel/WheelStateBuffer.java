@@ -0,0 +1,107 @@
+package com.skolev.simplewheel.view.custom_views.simple_wheel;
+
+import android.graphics.Bitmap;
+
+import com.skolev.simplewheel.engine.SectorLayout;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands the wheel state from the UI thread to the render thread without locks or allocation.
+ * Three states rotate between the writer, the reader and a shared middle slot; publishing and
+ * acquiring each swap one index, so neither side ever waits for the other and the reader
+ * always sees a whole state, the newest one published.
+ * <p>
+ * A state is everything a frame draws. Its bitmaps are referenced through
+ * {@link WheelBitmapCache}, a slot keeps them out of the pool until the writer fills it again,
+ * so the view may release its own references while the reader still draws an older state.
+ */
+final class WheelStateBuffer {
+
+    static final class State {
+
+        float rotation;
+        float pointerAngle;
+        //engine frames the render thread had stepped when the angles were read
+        long engineFrame;
+        boolean greyed;
+        boolean vector;
+        int radius;
+        int centerRadius;
+        int sectors;
+        SectorLayout layout;
+        int pointerWidth;
+        int pointerHeight;
+        int wheelLeft;
+        int wheelTop;
+        int wheelCenterX;
+        int wheelCenterY;
+        int pointerLeft;
+        int pointerTop;
+        String centerText;
+        int centerTextX;
+        int centerTextY;
+        int centerTextSize;
+        Bitmap wheelBitmap;
+        Bitmap pointerBitmap;
+        Bitmap sectorsBitmap;
+        long version;
+
+        //writer only, references the new bitmaps before it lets go of the ones they replace
+        void setBitmaps(Bitmap wheel, Bitmap pointer, Bitmap sectors) {
+            this.wheelBitmap = swap(this.wheelBitmap, wheel);
+            this.pointerBitmap = swap(this.pointerBitmap, pointer);
+            this.sectorsBitmap = swap(this.sectorsBitmap, sectors);
+        }
+
+        private static Bitmap swap(Bitmap held, Bitmap bitmap) {
+            if (held != bitmap) {
+                WheelBitmapCache cache = WheelBitmapCache.getInstance();
+                cache.retain(bitmap);
+                cache.release(held);
+            }
+            return bitmap;
+        }
+    }
+
+    private static final int INDEX = 3;
+    private static final int FRESH = 4;
+
+    private final State[] states = {new State(), new State(), new State()};
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int back;
+    private int front = 2;
+    private long version;
+
+    //writer only, every field has to be written again, the slot holds an older state
+    State edit() {
+        return this.states[this.back];
+    }
+
+    //writer only
+    void publish() {
+        this.states[this.back].version = ++this.version;
+        this.back = this.middle.getAndSet(this.back | FRESH) & INDEX;
+    }
+
+    //reader only, false when nothing was published since the last acquire
+    boolean acquire() {
+        if ((this.middle.get() & FRESH) == 0) {
+            return false;
+        }
+        this.front = this.middle.getAndSet(this.front) & INDEX;
+        return true;
+    }
+
+    //reader only, version 0 until the first publish
+    State current() {
+        return this.states[this.front];
+    }
+
+    //once neither side uses the buffer any more
+    void releaseBitmaps() {
+        for (State state : this.states) {
+            state.setBitmaps(null, null, null);
+        }
+    }
+}
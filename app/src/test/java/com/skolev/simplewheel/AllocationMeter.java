@@ -0,0 +1,64 @@
+package com.skolev.simplewheel;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Bytes allocated on the calling thread while a piece of code runs, from the HotSpot thread
+ * allocation counters. The unit tests run with escape analysis off, so the JIT cannot hide
+ * allocations ART would still make.
+ */
+public final class AllocationMeter {
+
+    private static final int ROUNDS = 5;
+    private static final com.sun.management.ThreadMXBean THREADS = threads();
+
+    private AllocationMeter() {
+    }
+
+    public static boolean isSupported() {
+        return THREADS != null;
+    }
+
+    /**
+     * Runs {@code body} {@code warmup} times unmeasured, for class loading and first-call
+     * resolution, then measures a few rounds of {@code runs} calls. The JIT itself allocates a
+     * little on the running thread while it moves hot code up a tier, so the least allocating
+     * round is reported; allocations of the measured code show up in every round.
+     *
+     * @return bytes allocated by one round, less what reading the counter costs
+     */
+    public static long measure(int warmup, int runs, Runnable body) {
+        for (int i = 0; i < warmup; i++) {
+            body.run();
+        }
+        long overhead = allocatedBytes();
+        overhead = allocatedBytes() - overhead;
+
+        long least = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = allocatedBytes();
+            for (int i = 0; i < runs; i++) {
+                body.run();
+            }
+            least = Math.min(least, allocatedBytes() - start - overhead);
+        }
+        return least;
+    }
+
+    private static long allocatedBytes() {
+        return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static com.sun.management.ThreadMXBean threads() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        com.sun.management.ThreadMXBean counters = (com.sun.management.ThreadMXBean) threads;
+        if (!counters.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        counters.setThreadAllocatedMemoryEnabled(true);
+        return counters;
+    }
+}
@@ -0,0 +1,108 @@
+package com.skolev.simplewheel.engine;
+
+import com.skolev.simplewheel.AllocationMeter;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+//every frame and touch path of the engine has a budget of zero bytes
+public class AllocationBudgetTest {
+
+    private static final long FRAME = 16_666_667L;
+
+    private WheelEngine engine;
+    private long frameTime;
+
+    @Before
+    public void setUp() {
+        assumeTrue(AllocationMeter.isSupported());
+        this.engine = new WheelEngine();
+        this.engine.setCenter(540, 540);
+        this.engine.setRadii(400, 100);
+    }
+
+    @Test
+    public void spinFrames_allocateNothing() {
+        this.engine.setSectors(12);
+        assertEquals(0, AllocationMeter.measure(2, 20, this::spin));
+    }
+
+    @Test
+    public void weightedSpinFrames_allocateNothing() {
+        this.engine.setSectorLayout(new SectorLayout(weights(500)));
+        assertEquals(0, AllocationMeter.measure(2, 20, this::spin));
+    }
+
+    @Test
+    public void flingAndLandingFrames_allocateNothing() {
+        this.engine.setSectorLayout(new SectorLayout(weights(64)));
+        assertEquals(0, AllocationMeter.measure(2, 20, () -> {
+            this.engine.resetWin();
+            this.engine.startFling(2400f);
+            for (int i = 0; i < 30; i++) {
+                this.engine.step(this.frameTime += FRAME);
+            }
+            this.engine.setWin(7);
+            runFrames();
+
+            this.engine.prepareSpin(1);
+            this.engine.startLanding(3);
+            runFrames();
+        }));
+    }
+
+    @Test
+    public void touchSamples_allocateNothing() {
+        this.engine.setSectorLayout(new SectorLayout(weights(36)));
+        this.engine.setApproximateAngles(true);
+        assertEquals(0, AllocationMeter.measure(2, 20, this::drag));
+        this.engine.setApproximateAngles(false);
+        assertEquals(0, AllocationMeter.measure(2, 20, this::drag));
+    }
+
+    private void spin() {
+        this.engine.resetWin();
+        this.engine.prepareSpin(-1);
+        this.engine.startSpin();
+        for (int i = 0; i < 90; i++) {
+            this.engine.step(this.frameTime += FRAME);
+        }
+        this.engine.setWin(5);
+        runFrames();
+    }
+
+    private void runFrames() {
+        for (int i = 0; i < 2000 && this.engine.isAnimating(); i++) {
+            this.engine.step(this.frameTime += FRAME);
+        }
+        assertFalse(this.engine.isAnimating());
+    }
+
+    private void drag() {
+        this.engine.touchDown(940, 540);
+        float result = 0;
+        for (int i = 0; i < 200; i++) {
+            float angle = i * 0.05f;
+            float x = 540 + 300 * (float) Math.cos(angle);
+            float y = 540 + 300 * (float) Math.sin(angle);
+            result += this.engine.dragStep(x, y);
+            if (i % 4 == 3) {
+                this.engine.commitDrag(result);
+                this.engine.updatePointer(false);
+                result = 0;
+            }
+            this.engine.hitTest(x, y);
+        }
+    }
+
+    private static float[] weights(int sectors) {
+        float[] weights = new float[sectors];
+        for (int i = 0; i < sectors; i++) {
+            weights[i] = 1 + i % 5;
+        }
+        return weights;
+    }
+}
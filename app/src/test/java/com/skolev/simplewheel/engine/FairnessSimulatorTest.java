@@ -0,0 +1,45 @@
+package com.skolev.simplewheel.engine;
+
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class FairnessSimulatorTest {
+
+    @Test
+    public void run_everySectorCountMapsIntoRangeAndLooksFair() {
+        for (int sectors = 5; sectors <= 21; sectors++) {
+            FairnessSimulator.Report report = new FairnessSimulator(sectors, 42).run(200_000);
+
+            assertEquals(0, report.getOutOfRange());
+            long total = 0;
+            for (int sector = 1; sector <= sectors; sector++) {
+                total += report.getCount(sector);
+            }
+            assertEquals(200_000, total);
+            assertTrue(report.toString(), report.getPValue() > 1e-4);
+        }
+    }
+
+    @Test
+    public void run_sameSeedGivesSameCountsOnAnyPool() {
+        long spins = 3_000_000;
+        FairnessSimulator simulator = new FairnessSimulator(12, 7);
+        FairnessSimulator.Report single = simulator.run(spins, new ForkJoinPool(1));
+        FairnessSimulator.Report parallel = simulator.run(spins, new ForkJoinPool(4));
+
+        for (int sector = 1; sector <= 12; sector++) {
+            assertEquals(single.getCount(sector), parallel.getCount(sector));
+        }
+    }
+
+    @Test
+    public void pValue_matchesKnownChiSquareQuantiles() {
+        //95th percentiles of chi-square with 1, 9 and 20 degrees of freedom
+        assertEquals(0.05, FairnessSimulator.regularizedGammaQ(0.5, 3.841 / 2), 1e-4);
+        assertEquals(0.05, FairnessSimulator.regularizedGammaQ(4.5, 16.919 / 2), 1e-4);
+        assertEquals(0.05, FairnessSimulator.regularizedGammaQ(10, 31.410 / 2), 1e-4);
+    }
+}
@@ -0,0 +1,63 @@
+package com.skolev.simplewheel.engine;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LandingTrajectoryTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    public void landsExactlyOnTarget() {
+        LandingTrajectory trajectory = new LandingTrajectory();
+        trajectory.configure(350f, 90f, 1f, SECOND, 2 * SECOND, 3 * SECOND, 720f);
+
+        assertEquals(6 * SECOND, trajectory.getDurationNanos());
+        assertEquals(90f, WheelEngine.formatAngle(trajectory.angleAt(6 * SECOND)), 1e-2f);
+        assertEquals(350f, trajectory.angleAt(0), 0f);
+    }
+
+    @Test
+    public void isMonotonicAndContinuous() {
+        LandingTrajectory trajectory = new LandingTrajectory();
+        trajectory.configure(10f, 200f, -1f, SECOND, SECOND, 2 * SECOND, 720f);
+
+        float previous = trajectory.angleAt(0);
+        for (long t = 0; t <= 4 * SECOND; t += SECOND / 120) {
+            float angle = trajectory.angleAt(t);
+            assertTrue(angle <= previous);
+            assertTrue(previous - angle < trajectory.getPeakVelocity() / 100f);
+            previous = angle;
+        }
+        assertEquals(200f, WheelEngine.formatAngle(previous), 1e-2f);
+    }
+
+    @Test
+    public void zeroPreferredVelocityTakesShortestWay() {
+        LandingTrajectory trajectory = new LandingTrajectory();
+        trajectory.configure(0f, 45f, 1f, SECOND, 0, SECOND, 0f);
+
+        assertEquals(45f, trajectory.getEndAngle(), 0f);
+    }
+
+    @Test
+    public void engineLandingStopsOnWinSector() {
+        WheelEngine engine = new WheelEngine();
+        engine.setSectors(12);
+        engine.setLandingDuration(3 * SECOND);
+        engine.prepareSpin(1);
+        engine.startLanding(5);
+
+        long time = 0;
+        int phase = engine.step(time);
+        while (phase == WheelEngine.PHASE_LANDING) {
+            time += SECOND / 60;
+            phase = engine.step(time);
+        }
+        assertEquals(WheelEngine.PHASE_POINTER_SETTLE, phase);
+        assertTrue(time <= 3 * SECOND + SECOND / 60);
+        assertEquals(150f, engine.getRotationAngle(), 1e-2f);
+        assertEquals(7, engine.getStopSector());
+    }
+}
@@ -0,0 +1,42 @@
+package com.skolev.simplewheel.engine;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class OutcomeSourcesTest {
+
+    @Test
+    public void seeded_sameSeedRepeatsTheSequence() {
+        OutcomeSource first = OutcomeSources.seeded(2019);
+        OutcomeSource second = OutcomeSources.seeded(2019);
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(first.nextInt(12), second.nextInt(12));
+        }
+    }
+
+    @Test
+    public void nextInt_staysInBoundsAndCoversThem() {
+        OutcomeSource[] sources = {OutcomeSources.fast(), OutcomeSources.secure(), OutcomeSources.seeded(1)};
+        for (OutcomeSource source : sources) {
+            boolean[] seen = new boolean[7];
+            for (int i = 0; i < 10_000; i++) {
+                int value = source.nextInt(7);
+                assertTrue(value >= 0 && value < 7);
+                seen[value] = true;
+            }
+            for (boolean sector : seen) {
+                assertTrue(sector);
+            }
+        }
+    }
+
+    @Test
+    public void splitMix64_matchesSplittableRandomReference() {
+        //first outputs of java.util.SplittableRandom's generator for seed 0
+        OutcomeSources.SplitMix64 source = new OutcomeSources.SplitMix64(0);
+        assertEquals(0xE220A8397B1DCDAFL, source.nextLong());
+        assertEquals(0x6E789E6AA1B965F4L, source.nextLong());
+    }
+}
@@ -0,0 +1,164 @@
+package com.skolev.simplewheel.engine;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class PrefetchingOutcomeProviderTest {
+
+    //answers only when the test says so
+    private static final class ManualProvider implements OutcomeProvider {
+
+        final List<Callback> pending = new ArrayList<>();
+
+        @Override
+        public void requestOutcome(int sectors, Callback callback) {
+            this.pending.add(callback);
+        }
+
+        void answer(int sector) {
+            this.pending.remove(0).onOutcome(sector);
+        }
+    }
+
+    private static final class Recorder implements OutcomeProvider.Callback {
+
+        int outcome = WheelEngine.NONE;
+        Throwable error;
+
+        @Override
+        public void onOutcome(int sector) {
+            this.outcome = sector;
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            this.error = error;
+        }
+    }
+
+    @Test
+    public void request_waitsForFirstAnswerThenServesFromReserve() {
+        ManualProvider backend = new ManualProvider();
+        PrefetchingOutcomeProvider provider = new PrefetchingOutcomeProvider(backend);
+
+        Recorder first = new Recorder();
+        provider.requestOutcome(8, first);
+        assertEquals(WheelEngine.NONE, first.outcome);
+
+        backend.answer(3);
+        assertEquals(3, first.outcome);
+        //the next outcome is already requested while the first spin animates
+        assertEquals(1, backend.pending.size());
+
+        backend.answer(5);
+        assertTrue(provider.hasReserve());
+
+        Recorder second = new Recorder();
+        provider.requestOutcome(8, second);
+        assertEquals(5, second.outcome);
+        assertEquals(1, backend.pending.size());
+    }
+
+    @Test
+    public void sectorChange_dropsReserveAndWaitingCaller() {
+        ManualProvider backend = new ManualProvider();
+        PrefetchingOutcomeProvider provider = new PrefetchingOutcomeProvider(backend);
+        provider.prefetch(8);
+        backend.answer(7);
+        assertTrue(provider.hasReserve());
+
+        Recorder waiting = new Recorder();
+        provider.requestOutcome(10, waiting);
+        assertFalse(provider.hasReserve());
+
+        Recorder replaced = new Recorder();
+        provider.requestOutcome(6, replaced);
+        assertNotNull(waiting.error);
+
+        //the answer for the older sector count is ignored
+        backend.answer(9);
+        assertEquals(WheelEngine.NONE, replaced.outcome);
+        assertEquals(WheelEngine.NONE, waiting.outcome);
+
+        backend.answer(4);
+        assertEquals(4, replaced.outcome);
+    }
+
+    @Test
+    public void secondRequest_failsTheFirstAndGetsTheAnswer() {
+        ManualProvider backend = new ManualProvider();
+        PrefetchingOutcomeProvider provider = new PrefetchingOutcomeProvider(backend);
+
+        Recorder first = new Recorder();
+        provider.requestOutcome(8, first);
+        Recorder second = new Recorder();
+        provider.requestOutcome(8, second);
+        assertNotNull(first.error);
+        assertNull(second.error);
+        //one answer is on its way for both
+        assertEquals(1, backend.pending.size());
+
+        backend.answer(2);
+        assertEquals(WheelEngine.NONE, first.outcome);
+        assertEquals(2, second.outcome);
+    }
+
+    @Test
+    public void cancel_endsTheWaiterAndKeepsTheLateAnswer() {
+        ManualProvider backend = new ManualProvider();
+        PrefetchingOutcomeProvider provider = new PrefetchingOutcomeProvider(backend);
+
+        Recorder timedOut = new Recorder();
+        provider.requestOutcome(8, timedOut);
+        provider.cancel(timedOut);
+        assertTrue(timedOut.error instanceof CancellationException);
+
+        backend.answer(6);
+        assertEquals(WheelEngine.NONE, timedOut.outcome);
+        assertTrue(provider.hasReserve());
+
+        Recorder next = new Recorder();
+        provider.requestOutcome(8, next);
+        assertEquals(6, next.outcome);
+        //cancelling a caller that was answered changes nothing
+        provider.cancel(next);
+        assertNull(next.error);
+    }
+
+    @Test
+    public void stub_withLatencyAnswersInRangeAndReportsFailures() throws InterruptedException {
+        StubOutcomeProvider stub = new StubOutcomeProvider(OutcomeSources.seeded(3), 20);
+        PrefetchingOutcomeProvider provider = new PrefetchingOutcomeProvider(stub);
+
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicInteger outcome = new AtomicInteger(WheelEngine.NONE);
+        provider.requestOutcome(12, new OutcomeProvider.Callback() {
+            @Override
+            public void onOutcome(int sector) {
+                outcome.set(sector);
+                latch.countDown();
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                latch.countDown();
+            }
+        });
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertTrue(outcome.get() >= 0 && outcome.get() < 12);
+
+        stub.setLatency(0);
+        stub.setFailing(true);
+        Recorder failed = new Recorder();
+        new PrefetchingOutcomeProvider(stub).requestOutcome(12, failed);
+        assertNotNull(failed.error);
+    }
+}
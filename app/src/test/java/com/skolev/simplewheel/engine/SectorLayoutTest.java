@@ -0,0 +1,125 @@
+package com.skolev.simplewheel.engine;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class SectorLayoutTest {
+
+    private static float[] equalWeights(int sectors) {
+        float[] weights = new float[sectors];
+        Arrays.fill(weights, 1f);
+        return weights;
+    }
+
+    @Test
+    public void equalWeights_matchLegacyEngineMath() {
+        for (int sectors = 5; sectors <= 21; sectors++) {
+            WheelEngine legacy = new WheelEngine();
+            legacy.setSectors(sectors);
+            WheelEngine layout = new WheelEngine();
+            layout.setSectorLayout(new SectorLayout(equalWeights(sectors)));
+
+            for (int sector = 0; sector < sectors; sector++) {
+                legacy.setWin(sector);
+                layout.setWin(sector);
+                assertEquals(legacy.getWin(), layout.getWin(), 1e-3f);
+                assertEquals(legacy.getStopSector(), layout.getStopSector());
+            }
+            for (float rotation = 0.31f; rotation < 360f; rotation += 13.7f) {
+                legacy.setRotationAngle(rotation);
+                layout.setRotationAngle(rotation);
+                for (float touch = 0.53f; touch < 360f; touch += 7.3f) {
+                    assertEquals(legacy.sectorAt(touch), layout.sectorAt(touch));
+                }
+                assertEquals(legacy.updatePointer(true), layout.updatePointer(true), 1e-3f);
+                assertEquals(legacy.updatePointer(false), layout.updatePointer(false), 1e-3f);
+            }
+        }
+    }
+
+    @Test
+    public void skewedWeights_resolveLikeALinearScan() {
+        //one wide sector and hundreds of slivers put many slots into a single bucket
+        float[] weights = new float[500];
+        Arrays.fill(weights, 1f);
+        weights[0] = 5000f;
+        weights[250] = 2000f;
+        SectorLayout layout = new SectorLayout(weights);
+
+        for (float angle = 0.0137f; angle < 360f; angle += 0.0731f) {
+            assertEquals(referenceSlotAt(layout, angle), layout.slotAt(angle));
+        }
+        //float borders are ambiguous, a quarter arc inside them is not
+        for (int slot = 0; slot < weights.length; slot++) {
+            float quarter = layout.getSlotArc(slot) / 4f;
+            assertEquals(slot, layout.slotAt(layout.getSlotStart(slot) + quarter));
+            assertEquals(slot, layout.slotAt(layout.getSlotCenter(slot)));
+            assertEquals(slot, layout.slotAt(layout.getSlotStart(slot) + 3 * quarter));
+        }
+    }
+
+    private static int referenceSlotAt(SectorLayout layout, float localAngle) {
+        float angle = WheelEngine.formatAngle(localAngle);
+        for (int slot = 0; slot < layout.getSectors(); slot++) {
+            float position = WheelEngine.formatAngle(angle - layout.getSlotStart(slot));
+            if (position < layout.getSlotArc(slot)) {
+                return slot;
+            }
+        }
+        throw new AssertionError("No slot at " + localAngle);
+    }
+
+    @Test
+    public void weightedArcs_resolveAnglesAndWinsConsistently() {
+        float[] weights = {1f, 2f, 3f, 4f, 10f};
+        SectorLayout layout = new SectorLayout(weights);
+        WheelEngine engine = new WheelEngine();
+        engine.setSectorLayout(layout);
+
+        assertEquals(360f * 10f / 20f, layout.getArc(4), 1e-3f);
+        for (int sector = 0; sector < weights.length; sector++) {
+            assertEquals(sector, layout.sectorAt(360f - layout.getWinAngle(sector)));
+
+            engine.setWin(sector);
+            int slot = layout.slotOfSector(sector);
+            assertEquals(slot == 0 ? weights.length : slot, engine.getStopSector());
+        }
+    }
+
+    @Test
+    public void slotAt_matchesLinearScanForThousandsOfSectors() {
+        float[] weights = new float[5000];
+        OutcomeSource source = OutcomeSources.seeded(11);
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = 1 + source.nextInt(100);
+        }
+        SectorLayout layout = new SectorLayout(weights);
+
+        for (float angle = 0.001f; angle < 360f; angle += 0.0731f) {
+            int expected = 0;
+            for (int slot = 0; slot < weights.length; slot++) {
+                float start = WheelEngine.formatAngle(layout.getSlotStart(slot));
+                float offset = WheelEngine.formatAngle(angle - start);
+                if (offset < layout.getSlotArc(slot)) {
+                    expected = slot;
+                    break;
+                }
+            }
+            assertEquals(expected, layout.slotAt(angle));
+        }
+    }
+
+    @Test
+    public void simulator_weightedLayoutFollowsWeights() {
+        SectorLayout layout = new SectorLayout(new float[]{1f, 1f, 2f, 4f, 8f, 16f});
+        FairnessSimulator.Report report = new FairnessSimulator(layout, 5).run(500_000);
+
+        assertEquals(0, report.getOutOfRange());
+        assertTrue(report.toString(), report.getPValue() > 1e-4);
+        //sector 5 has half of the weight, its slot is 1
+        assertEquals(0.5, report.getFrequency(layout.slotOfSector(5)), 0.01);
+    }
+}
@@ -0,0 +1,188 @@
+package com.skolev.simplewheel.engine;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.*;
+
+public class SpinTimelineTest {
+
+    private static final long FRAME = 16_666_667L;
+
+    private WheelEngine engine;
+
+    @Before
+    public void setUp() {
+        this.engine = new WheelEngine();
+        this.engine.setSectors(10);
+        this.engine.setLandingDuration(2_000_000_000L);
+        this.engine.prepareSpin(-1);
+    }
+
+    @Test
+    public void record_matchesLiveSpinFrameByFrame() {
+        SpinTimeline timeline = this.engine.recordLanding(4, FRAME, new SpinTimeline());
+        assertEquals(0f, this.engine.getRotationAngle(), 0f);
+
+        this.engine.startLanding(4);
+        for (int i = 0; i < timeline.getFrameCount(); i++) {
+            this.engine.step(i * FRAME);
+            assertEquals(timeline.getRotationAngle(i), this.engine.getRotationAngle(), 0f);
+            assertEquals(timeline.getPointerAngle(i), this.engine.getPointerAngle(), 0f);
+        }
+        assertFalse(this.engine.isAnimating());
+        assertTrue(timeline.getLandingFrame() > 0);
+    }
+
+    @Test
+    public void playback_reportsPhasesAndEndsOnWin() {
+        SpinTimeline timeline = this.engine.recordLanding(4, FRAME, new SpinTimeline());
+        this.engine.startPlayback(timeline);
+
+        int frame = 0;
+        int phase = this.engine.step(0);
+        while (phase == WheelEngine.PHASE_LANDING) {
+            phase = this.engine.step(++frame * FRAME);
+        }
+        assertEquals(timeline.getLandingFrame(), frame);
+        assertEquals(WheelEngine.PHASE_POINTER_SETTLE, phase);
+        while (this.engine.isAnimating()) {
+            this.engine.step(++frame * FRAME);
+        }
+        assertEquals(144f, this.engine.getRotationAngle(), 1e-2f);
+        assertEquals(6, this.engine.getStopSector());
+    }
+
+    @Test
+    public void serialization_roundTripsExactly() throws IOException {
+        SpinTimeline timeline = this.engine.recordLanding(7, FRAME, new SpinTimeline());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        timeline.writeTo(new DataOutputStream(bytes));
+        SpinTimeline copy = SpinTimeline.readFrom(
+                new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(timeline.getFrameCount(), copy.getFrameCount());
+        assertEquals(timeline.getLandingFrame(), copy.getLandingFrame());
+        assertEquals(7, copy.getWinSector());
+        assertEquals(timeline.getFrameIntervalNanos(), copy.getFrameIntervalNanos());
+        for (int i = 0; i < timeline.getFrameCount(); i++) {
+            assertEquals(timeline.getRotationAngle(i), copy.getRotationAngle(i), 0f);
+            assertEquals(timeline.getPointerAngle(i), copy.getPointerAngle(i), 0f);
+        }
+    }
+
+    @Test
+    public void serialization_keepsTheSectorWeights() throws IOException {
+        SectorLayout layout = new SectorLayout(new float[]{1f, 3f, 1f, 2f, 5f});
+        this.engine.setSectorLayout(layout);
+        SpinTimeline copy = roundTrip(this.engine.recordLanding(2, FRAME, new SpinTimeline()));
+
+        assertEquals(layout, copy.getSectorLayout());
+        this.engine.startPlayback(copy);
+        int frame = 0;
+        this.engine.step(0);
+        while (this.engine.isAnimating()) {
+            this.engine.step(++frame * FRAME);
+        }
+        assertEquals(layout.getWinAngle(2), WheelEngine.formatAngle(this.engine.getRotationAngle()), 1e-2f);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void playback_rejectsOtherSectorWeights() {
+        this.engine.setSectorLayout(new SectorLayout(new float[]{1f, 1f, 1f, 1f, 6f}));
+        SpinTimeline timeline = this.engine.recordLanding(1, FRAME, new SpinTimeline());
+        this.engine.setSectorLayout(new SectorLayout(new float[]{1f, 1f, 6f, 1f, 1f}));
+        this.engine.startPlayback(timeline);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void playback_rejectsWeightsOnAnEvenWheel() {
+        this.engine.setSectorLayout(new SectorLayout(new float[]{1f, 2f, 3f, 4f, 5f, 6f, 7f, 8f, 9f, 10f}));
+        SpinTimeline timeline = this.engine.recordLanding(1, FRAME, new SpinTimeline());
+        this.engine.setSectors(10);
+        this.engine.startPlayback(timeline);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void record_rejectsNonPositiveFrameInterval() {
+        this.engine.recordLanding(1, 0, new SpinTimeline());
+    }
+
+    @Test
+    public void readFrom_failsOnFramesMissingFromTheStream() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        this.engine.recordLanding(3, FRAME, new SpinTimeline()).writeTo(new DataOutputStream(bytes));
+        byte[] data = bytes.toByteArray();
+        //frame count sits after magic, version, interval and four ints
+        ByteBuffer.wrap(data).putInt(4 + 4 + 8 + 4 * 4, Integer.MAX_VALUE / 2);
+
+        try {
+            SpinTimeline.readFrom(new DataInputStream(new ByteArrayInputStream(data)));
+            fail();
+        } catch (EOFException expected) {
+            //reached the end of the stream before allocating the claimed frames
+        }
+    }
+
+    @Test
+    public void readFrom_rejectsNonPositiveFrameInterval() throws IOException {
+        //the interval follows magic and version
+        assertCorrupted(8, 0L);
+        assertCorrupted(8, -FRAME);
+    }
+
+    @Test
+    public void readFrom_rejectsUnknownDirection() throws IOException {
+        //the direction follows the interval, sectors and win
+        assertCorrupted(8 + 8 + 4 + 4, 0);
+        assertCorrupted(8 + 8 + 4 + 4, 2);
+    }
+
+    @Test
+    public void record_keepsTheDirectionAWheelAtRestLandsIn() throws IOException {
+        WheelEngine engine = new WheelEngine();
+        engine.setSectors(10);
+        SpinTimeline copy = roundTrip(engine.recordLanding(4, FRAME, new SpinTimeline()));
+        assertEquals(-1, copy.getDirection());
+    }
+
+    private void assertCorrupted(int offset, Number value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        this.engine.recordLanding(3, FRAME, new SpinTimeline()).writeTo(new DataOutputStream(bytes));
+        ByteBuffer data = ByteBuffer.wrap(bytes.toByteArray());
+        if (value instanceof Long) {
+            data.putLong(offset, value.longValue());
+        } else {
+            data.putInt(offset, value.intValue());
+        }
+
+        try {
+            SpinTimeline.readFrom(new DataInputStream(new ByteArrayInputStream(data.array())));
+            fail();
+        } catch (IOException expected) {
+            assertEquals("Corrupted spin timeline", expected.getMessage());
+        }
+    }
+
+    private static SpinTimeline roundTrip(SpinTimeline timeline) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        timeline.writeTo(new DataOutputStream(bytes));
+        return SpinTimeline.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void playback_rejectsOtherSectorCount() {
+        SpinTimeline timeline = this.engine.recordLanding(1, FRAME, new SpinTimeline());
+        this.engine.setSectors(12);
+        this.engine.startPlayback(timeline);
+    }
+}
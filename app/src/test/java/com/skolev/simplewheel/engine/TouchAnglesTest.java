@@ -0,0 +1,64 @@
+package com.skolev.simplewheel.engine;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TouchAnglesTest {
+
+    @Test
+    public void atan2AndTable_matchLegacyMathOnPixelGrid() {
+        WheelEngine engine = new WheelEngine();
+        engine.setCenter(540, 960);
+
+        for (int x = 0; x <= 1080; x += 7) {
+            for (int y = 0; y <= 1920; y += 11) {
+                float legacy = engine.calculateAngle(x, y);
+                float dx = x - 540;
+                float dy = y - 960;
+                assertEquals(0f, TouchAngles.delta(legacy, TouchAngles.atan2(dy, dx)), 1e-3f);
+                assertEquals(0f, TouchAngles.delta(legacy, TouchAngles.table(dy, dx)), 1e-3f);
+            }
+        }
+    }
+
+    @Test
+    public void table_staysWithinRangeOnAxesAndDiagonals() {
+        float[][] points = {{1, 0}, {1, 1}, {0, 1}, {-1, 1}, {-1, 0}, {-1, -1}, {0, -1}, {1, -1}};
+        float[] expected = {0, 45, 90, 135, 180, 225, 270, 315};
+        for (int i = 0; i < points.length; i++) {
+            float angle = TouchAngles.table(points[i][1], points[i][0]);
+            assertEquals(expected[i], angle, 1e-4f);
+            assertTrue(angle >= 0 && angle < 360);
+        }
+        assertEquals(0f, TouchAngles.table(0, 0), 0f);
+    }
+
+    @Test
+    public void tinyNegativeDy_staysBelowAFullTurn() {
+        float[] dys = {-1e-3f, -1e-5f, -1e-7f, -Float.MIN_VALUE};
+        for (float dx : new float[]{1f, 100f, 5000f}) {
+            for (float dy : dys) {
+                double reference = Math.toDegrees(Math.atan2(dy, dx)) + 360;
+                float table = TouchAngles.table(dy, dx);
+                float atan2 = TouchAngles.atan2(dy, dx);
+                assertTrue(table >= 0 && table < 360);
+                assertTrue(atan2 >= 0 && atan2 < 360);
+                assertEquals(0f, TouchAngles.delta((float) reference, table), 1e-3f);
+                assertEquals(0f, TouchAngles.delta((float) reference, atan2), 1e-3f);
+            }
+        }
+    }
+
+    @Test
+    public void drag_acrossZeroKeepsItsDirection() {
+        WheelEngine engine = new WheelEngine();
+        engine.setCenter(100, 100);
+        engine.touchDown(150, 90);
+        float delta = engine.dragStep(150, 110);
+
+        assertTrue(delta > 0 && delta < 30);
+        engine.commitDrag(delta);
+        assertEquals(-1, engine.getDirection());
+    }
+}
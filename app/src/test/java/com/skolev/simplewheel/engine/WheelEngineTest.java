@@ -0,0 +1,312 @@
+package com.skolev.simplewheel.engine;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class WheelEngineTest {
+
+    private WheelEngine engine;
+
+    @Before
+    public void setUp() {
+        this.engine = new WheelEngine();
+        this.engine.setCenter(100, 100);
+        this.engine.setSectors(8);
+    }
+
+    @Test
+    public void formatAngle_wrapsIntoFullRotation() {
+        assertEquals(10f, WheelEngine.formatAngle(370f), 0f);
+        assertEquals(350f, WheelEngine.formatAngle(-10f), 0f);
+        assertEquals(0f, WheelEngine.formatAngle(0f), 0f);
+    }
+
+    @Test
+    public void calculateAngle_isClockwiseFromPositiveX() {
+        assertEquals(0f, this.engine.calculateAngle(150, 100), 1e-4f);
+        assertEquals(90f, this.engine.calculateAngle(100, 150), 1e-4f);
+        assertEquals(180f, this.engine.calculateAngle(50, 100), 1e-4f);
+        assertEquals(270f, this.engine.calculateAngle(100, 50), 1e-4f);
+        assertEquals(0f, this.engine.calculateAngle(100, 100), 0f);
+    }
+
+    @Test
+    public void stopSector_matchesWinMapping() {
+        this.engine.setWin(3);
+        assertEquals(5, this.engine.getStopSector());
+        this.engine.setWin(0);
+        assertEquals(8, this.engine.getStopSector());
+    }
+
+    @Test
+    public void spin_runsAllPhasesAndEndsOnWinAngle() {
+        assertEquals(135f, runSpin(-1, 3), 1e-3f);
+        assertEquals(135f, runSpin(1, 3), 1e-3f);
+    }
+
+    @Test
+    public void spin_keepsCruisingUntilWinIsKnown() {
+        this.engine.prepareSpin(1);
+        this.engine.startSpin();
+
+        long frame = 16_666_667L;
+        for (int i = 0; i < 600; i++) {
+            assertEquals(WheelEngine.PHASE_SPIN, this.engine.step(i * frame));
+        }
+        this.engine.setWin(1);
+        int phase = WheelEngine.PHASE_SPIN;
+        for (int i = 600; i < 700 && phase == WheelEngine.PHASE_SPIN; i++) {
+            phase = this.engine.step(i * frame);
+        }
+        assertEquals(WheelEngine.PHASE_REWARD, phase);
+    }
+
+    private float runSpin(int direction, int winSector) {
+        this.engine.prepareSpin(direction);
+        this.engine.startSpin();
+        this.engine.setWin(winSector);
+
+        long frame = 16_666_667L;
+        long time = 0;
+        int previous = WheelEngine.PHASE_SPIN;
+        boolean rewardSeen = false;
+        while (this.engine.isAnimating()) {
+            int phase = this.engine.step(time);
+            rewardSeen |= phase == WheelEngine.PHASE_REWARD;
+            assertTrue(phase >= previous || phase == WheelEngine.PHASE_IDLE);
+            previous = phase;
+            time += frame;
+            assertTrue(time < 60L * 1_000_000_000L);
+        }
+        assertTrue(rewardSeen);
+        assertEquals(0f, this.engine.getPointerAngle(), 0f);
+        return WheelEngine.formatAngle(this.engine.getRotationAngle());
+    }
+
+    @Test
+    public void drag_updatesRotationAndDirection() {
+        this.engine.touchDown(150, 100);
+        float delta = this.engine.dragStep(100, 150);
+        this.engine.commitDrag(delta);
+
+        assertEquals(90f, this.engine.getRotationAngle(), 1e-4f);
+        assertEquals(-1, this.engine.getDirection());
+    }
+
+    @Test
+    public void updatePointer_deflectsOnlyNearDivider() {
+        this.engine.setPointerDirection(1);
+        this.engine.setRotationAngle(0);
+        assertEquals(0f, this.engine.updatePointer(false), 0f);
+        assertFalse(this.engine.isOnPointer());
+
+        this.engine.setRotationAngle(22.5f);
+        assertTrue(this.engine.updatePointer(false) > 0);
+        assertTrue(this.engine.isOnPointer());
+
+        this.engine.setRotationAngle(0);
+        assertEquals(38f, this.engine.updatePointer(true), 0f);
+    }
+
+    private long flingUntilIdle(float angularVelocity, int winSector) {
+        long frame = 16_666_667L;
+        long time = 0;
+        this.engine.resetWin();
+        this.engine.startFling(angularVelocity);
+        this.engine.step(time);
+        for (int i = 0; i < 10; i++) {
+            time += frame;
+            assertEquals(WheelEngine.PHASE_FLING, this.engine.step(time));
+        }
+        this.engine.setWin(winSector);
+        while (this.engine.step(time) != WheelEngine.PHASE_POINTER_SETTLE) {
+            time += frame;
+            assertTrue(time < 60_000_000_000L);
+        }
+        return time;
+    }
+
+    @Test
+    public void fling_comesToRestOnTheWin() {
+        flingUntilIdle(1440f, 3);
+        assertEquals(this.engine.getWin(), WheelEngine.formatAngle(this.engine.getRotationAngle()), 1e-2f);
+        assertEquals(-1, this.engine.getDirection());
+
+        flingUntilIdle(-900f, 6);
+        assertEquals(this.engine.getWin(), WheelEngine.formatAngle(this.engine.getRotationAngle()), 1e-2f);
+        assertEquals(1, this.engine.getDirection());
+    }
+
+    @Test
+    public void fling_fasterGestureSpinsLonger() {
+        long slow = flingUntilIdle(600f, 2);
+        long fast = flingUntilIdle(2400f, 2);
+        assertTrue(fast > slow);
+    }
+
+    @Test
+    public void fling_keepsSpinningUntilTheWinIsKnown() {
+        this.engine.startFling(400f);
+        long time = 0;
+        this.engine.step(time);
+        for (int i = 0; i < 600; i++) {
+            time += 16_666_667L;
+            assertEquals(WheelEngine.PHASE_FLING, this.engine.step(time));
+        }
+        assertTrue(this.engine.getFlingVelocity() > 0);
+    }
+
+    @Test
+    public void landing_withExplicitDurationStopsInThatTime() {
+        long frame = 16_666_667L;
+        long[] landed = new long[3];
+        //centers of 7, 9 and 11 sectors are not whole degrees
+        for (int i = 0; i < landed.length; i++) {
+            int sectors = 7 + 2 * i;
+            WheelEngine engine = new WheelEngine();
+            engine.setSectors(sectors);
+            engine.prepareSpin(-1);
+            engine.startLanding(2 + i, 2_000_000_000L + i * 400_000_000L);
+
+            long time = 0;
+            while (engine.step(time) == WheelEngine.PHASE_LANDING) {
+                time += frame;
+            }
+            landed[i] = time;
+            assertEquals(360f / sectors * (2 + i), WheelEngine.formatAngle(engine.getRotationAngle()), 1e-3f);
+        }
+        assertEquals(2_000_000_000L, landed[0], frame);
+        assertEquals(400_000_000L, landed[1] - landed[0], frame);
+        assertEquals(400_000_000L, landed[2] - landed[1], frame);
+    }
+
+    @Test
+    public void landing_stopsOnEverySectorOfNarrowLayouts() {
+        landOnEverySector(1000, null);
+
+        //the narrow sectors of a skewed layout are about a third of a degree wide
+        float[] weights = new float[200];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = i % 2 == 0 ? 50f : 1f;
+        }
+        landOnEverySector(weights.length, new SectorLayout(weights));
+    }
+
+    private void landOnEverySector(int sectors, SectorLayout layout) {
+        WheelEngine engine = new WheelEngine();
+        engine.setCenter(100, 100);
+        engine.setRadii(80, 20);
+        engine.setSectors(sectors);
+        if (layout != null) {
+            engine.setSectorLayout(layout);
+        }
+        engine.prepareSpin(-1);
+
+        long frame = 16_666_667L;
+        for (int sector = 0; sector < sectors; sector++) {
+            engine.startLanding(sector, 250_000_000L);
+            long time = 0;
+            while (engine.step(time) == WheelEngine.PHASE_LANDING) {
+                time += frame;
+            }
+            assertEquals(sector == 0 ? sectors : sectors - sector, engine.getStopSector());
+            assertEquals(sector, engine.hitTest(100, 40));
+        }
+    }
+
+    @Test
+    public void angularVelocity_followsTangentialMotion() {
+        //a point 100px right of the center moving down at 100px/s turns clockwise at 1 rad/s
+        assertEquals(57.29578f, TouchAngles.angularVelocity(100, 0, 0, 100), 1e-3f);
+        assertEquals(-57.29578f, TouchAngles.angularVelocity(0, 100, 100, 0), 1e-3f);
+        assertEquals(0f, TouchAngles.angularVelocity(100, 0, 100, 0), 0f);
+    }
+
+    @Test
+    public void hitTest_resolvesHubRingAndRotatedSectors() {
+        this.engine.setRadii(80, 20);
+        assertEquals(WheelEngine.HIT_HUB, this.engine.hitTest(105, 105));
+        assertEquals(WheelEngine.NONE, this.engine.hitTest(190, 100));
+
+        //at rest sector 0 sits under the pointer, the next one clockwise is sector 7
+        assertEquals(0, this.engine.hitTest(100, 40));
+        assertEquals(7, this.engine.hitTest(145, 55));
+
+        this.engine.setWin(3);
+        this.engine.setRotationAngle(this.engine.getWin());
+        assertEquals(3, this.engine.hitTest(100, 40));
+
+        this.engine.setSectorLayout(new SectorLayout(new float[]{1f, 1f, 6f}));
+        this.engine.setWin(2);
+        this.engine.setRotationAngle(this.engine.getWin());
+        assertEquals(2, this.engine.hitTest(100, 40));
+        assertEquals(2, this.engine.hitTest(40, 100));
+    }
+
+    @Test
+    public void crossings_reportEveryDividerWithOrderedTimes() {
+        //8 sectors of 45 degrees, dividers pass the pointer at 22.5 + 45k
+        this.engine.collectCrossings(10f, 150f, 1000, 2400);
+        SectorCrossings crossings = this.engine.getCrossings();
+        assertEquals(3, crossings.getCount());
+        assertEquals(1, crossings.getSector(0));
+        assertEquals(2, crossings.getSector(1));
+        assertEquals(3, crossings.getSector(2));
+        assertEquals(1125, crossings.getTimeNanos(0));
+        assertEquals(1575, crossings.getTimeNanos(1));
+        assertEquals(2025, crossings.getTimeNanos(2));
+
+        //backwards from a divider, the one the wheel starts on is not counted again
+        this.engine.collectCrossings(22.5f, -30f, 0, 100);
+        assertEquals(1, crossings.getCount());
+        assertEquals(7, crossings.getSector(0));
+
+        this.engine.collectCrossings(100f, 100f, 0, 100);
+        assertEquals(0, crossings.getCount());
+    }
+
+    @Test
+    public void crossings_addAllAppendsBatchesInOrder() {
+        SectorCrossings batches = new SectorCrossings();
+        this.engine.collectCrossings(10f, 150f, 1000, 2400);
+        batches.addAll(this.engine.getCrossings());
+        this.engine.collectCrossings(22.5f, -30f, 2400, 2500);
+        batches.addAll(this.engine.getCrossings());
+
+        assertEquals(4, batches.getCount());
+        assertEquals(3, batches.getSector(2));
+        assertEquals(7, batches.getSector(3));
+        assertEquals(2025, batches.getTimeNanos(2));
+        batches.clear();
+        assertEquals(0, batches.getCount());
+    }
+
+    @Test
+    public void crossings_matchDividersOverAWholeSpin() {
+        this.engine.setSectorLayout(new SectorLayout(new float[]{1f, 3f, 1f, 2f, 5f, 1f, 1f}));
+        this.engine.prepareSpin(-1);
+        this.engine.startSpin();
+        this.engine.setWin(4);
+
+        float travelled = 0;
+        int count = 0;
+        long frame = 16_666_667L;
+        for (int i = 0; i < 2000 && this.engine.isAnimating(); i++) {
+            float before = this.engine.getRotationAngle();
+            this.engine.step(i * frame);
+            travelled += TouchAngles.delta(WheelEngine.formatAngle(before),
+                    WheelEngine.formatAngle(this.engine.getRotationAngle()));
+            SectorCrossings crossings = this.engine.getCrossings();
+            for (int j = 0; j < crossings.getCount(); j++) {
+                assertTrue(crossings.getTimeNanos(j) <= i * frame);
+                assertTrue(j == 0 || crossings.getTimeNanos(j) >= crossings.getTimeNanos(j - 1));
+            }
+            count += crossings.getCount();
+        }
+        assertFalse(this.engine.isAnimating());
+        //seven dividers per turn, the wheel starts and stops inside a sector
+        assertEquals(7 * travelled / 360f, count, 1f);
+    }
+}
@@ -0,0 +1,201 @@
+package com.skolev.simplewheel.view.custom_views.simple_wheel;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.PorterDuff;
+import android.view.MotionEvent;
+import android.view.View;
+
+import com.skolev.simplewheel.AllocationMeter;
+import com.skolev.simplewheel.engine.WheelEngine;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.Implementation;
+import org.robolectric.annotation.Implements;
+import org.robolectric.annotation.LooperMode;
+import org.robolectric.shadows.ShadowMatrix;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Frame, touch and draw paths of the view have a budget of zero bytes of their own. Robolectric
+ * shadows allocate where ART calls into native code, so matrices are shadowed by a recordless
+ * stub, draws go to a canvas that drops them, and what invalidate and the motion event getters
+ * allocate under the shadows is measured on its own and has to come back exactly.
+ */
+@RunWith(RobolectricTestRunner.class)
+//frame callbacks wait for the looper instead of running at once, the tests call doFrame themselves
+@LooperMode(LooperMode.Mode.PAUSED)
+@Config(sdk = 28, manifest = Config.NONE, shadows = ViewAllocationBudgetTest.ShadowRecordlessMatrix.class)
+public class ViewAllocationBudgetTest {
+
+    private static final long FRAME = 16_666_667L;
+    private static final int SIZE = 1080;
+    private static final int FRAMES = 10;
+
+    private SimpleWheelView view;
+    private long frameTime;
+
+    @Before
+    public void setUp() {
+        assumeTrue(AllocationMeter.isSupported());
+        this.view = new SimpleWheelView(RuntimeEnvironment.application);
+        this.view.setRenderMode(SimpleWheelView.RENDER_MODE_VECTOR);
+        this.view.setSectorWeights(new float[]{1f, 2f, 1f, 3f, 1f, 2f, 1f, 4f});
+        this.view.measure(
+                View.MeasureSpec.makeMeasureSpec(SIZE, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(SIZE, View.MeasureSpec.EXACTLY));
+        this.view.layout(0, 0, SIZE, SIZE);
+    }
+
+    @Test
+    public void driverFrames_allocateOnlyWhatInvalidateDoes() {
+        WheelEngine engine = this.view.getEngine();
+        WheelFrameDriver driver = new WheelFrameDriver(this.view, engine);
+        engine.prepareSpin(-1);
+        engine.startSpin();
+
+        long frames = AllocationMeter.measure(2, 20, () -> {
+            for (int i = 0; i < FRAMES; i++) {
+                driver.doFrame(this.frameTime += FRAME);
+            }
+        });
+        driver.stop();
+        assertEquals(invalidates(FRAMES), frames);
+    }
+
+    @Test
+    public void engineFrames_allocateOnlyWhatInvalidateDoes() {
+        WheelEngine engine = this.view.getEngine();
+        engine.prepareSpin(1);
+        engine.startSpin();
+
+        long frames = AllocationMeter.measure(2, 20, () -> {
+            for (int i = 0; i < FRAMES; i++) {
+                int previous = engine.getPhase();
+                this.view.onEngineFrame(previous, engine.step(this.frameTime += FRAME));
+            }
+        });
+        assertEquals(invalidates(FRAMES), frames);
+    }
+
+    @Test
+    public void moveEvents_allocateOnlyWhatTheEventAndInvalidateDo() {
+        MotionEvent event = MotionEvent.obtain(0, 0, MotionEvent.ACTION_MOVE, 900, 540, 0);
+        for (int i = 1; i <= 4; i++) {
+            event.addBatch(i * 4_000_000L, 900 - i * 10, 540 + i * 40, 1f, 1f, 0);
+        }
+        this.view.getEngine().touchDown(900, 500);
+
+        long framework = AllocationMeter.measure(2, 20, () -> {
+            readSamples(event);
+            this.view.invalidate();
+        });
+        long moves = AllocationMeter.measure(2, 20, () -> this.view.handleActionMove(event));
+        assertEquals(framework, moves);
+        event.recycle();
+    }
+
+    @Test
+    public void draws_allocateNothing() {
+        Canvas canvas = new DroppingCanvas();
+        this.view.setCenterText("Spin");
+
+        assertEquals(0, AllocationMeter.measure(2, 20, () -> {
+            this.view.onDraw(canvas);
+            this.view.dispatchDraw(canvas);
+        }));
+    }
+
+    private long invalidates(int count) {
+        return AllocationMeter.measure(2, 20, () -> {
+            for (int i = 0; i < count; i++) {
+                this.view.invalidate();
+            }
+        });
+    }
+
+    //the getters handleActionMove calls, nothing else
+    private static float readSamples(MotionEvent event) {
+        float sum = 0;
+        for (int i = 0; i < event.getHistorySize(); i++) {
+            sum += event.getHistoricalX(i) + event.getHistoricalY(i);
+        }
+        return sum + event.getX() + event.getY();
+    }
+
+    //the stock shadow keeps every operation as a string
+    @Implements(Matrix.class)
+    public static class ShadowRecordlessMatrix extends ShadowMatrix {
+
+        @Implementation
+        @Override
+        public void reset() {
+        }
+
+        @Implementation
+        @Override
+        public void setTranslate(float dx, float dy) {
+        }
+
+        @Implementation
+        @Override
+        public boolean postRotate(float degrees, float px, float py) {
+            return true;
+        }
+    }
+
+    //the stock shadow describes every draw in a string
+    private static final class DroppingCanvas extends Canvas {
+
+        @Override
+        public int save() {
+            return 1;
+        }
+
+        @Override
+        public void restore() {
+        }
+
+        @Override
+        public void rotate(float degrees) {
+        }
+
+        @Override
+        public void translate(float dx, float dy) {
+        }
+
+        @Override
+        public void concat(Matrix matrix) {
+        }
+
+        @Override
+        public void drawColor(int color, PorterDuff.Mode mode) {
+        }
+
+        @Override
+        public void drawCircle(float cx, float cy, float radius, Paint paint) {
+        }
+
+        @Override
+        public void drawPath(Path path, Paint paint) {
+        }
+
+        @Override
+        public void drawBitmap(Bitmap bitmap, Matrix matrix, Paint paint) {
+        }
+
+        @Override
+        public void drawText(String text, float x, float y, Paint paint) {
+        }
+    }
+}
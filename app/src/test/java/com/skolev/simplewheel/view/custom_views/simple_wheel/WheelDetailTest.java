@@ -0,0 +1,63 @@
+package com.skolev.simplewheel.view.custom_views.simple_wheel;
+
+import com.skolev.simplewheel.engine.SectorLayout;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class WheelDetailTest {
+
+    @Test
+    public void smallWheel_keepsEveryDividerAndLabel() {
+        WheelDetail detail = new WheelDetail();
+        detail.compute(null, 12, 600);
+
+        assertEquals(12, detail.dividerCount);
+        assertEquals(12, detail.labelCount);
+        for (int i = 0; i < 12; i++) {
+            assertEquals(i, detail.labels[i]);
+            assertEquals(WheelRenderSpec.labelSize(null, 12, 600, i), detail.labelSizes[i]);
+        }
+    }
+
+    @Test
+    public void thousandsOfSectors_areCappedAndStayReadable() {
+        int wheelSize = 1000;
+        WheelDetail detail = new WheelDetail();
+        detail.compute(null, 5000, wheelSize);
+
+        double perimeter = Math.PI * wheelSize;
+        assertTrue(detail.dividerCount <= perimeter / WheelDetail.MIN_DIVIDER_SPACING);
+        assertTrue(detail.dividerCount > 0);
+        assertTrue(detail.labelCount <= WheelDetail.MAX_LABELS);
+        assertTrue(detail.labelCount > 0);
+
+        for (int i = 0; i < detail.labelCount; i++) {
+            assertTrue(detail.labelSizes[i] >= WheelDetail.MIN_LABEL_SIZE);
+            if (i > 0) {
+                double gap = (detail.labels[i] - detail.labels[i - 1]) * perimeter / 5000;
+                assertTrue(gap >= perimeter / WheelDetail.MAX_LABELS - 1e-3);
+            }
+        }
+    }
+
+    @Test
+    public void weightedLayout_keepsLabelsOfWideSectors() {
+        float[] weights = new float[400];
+        Arrays.fill(weights, 1f);
+        weights[0] = 400f;
+        SectorLayout layout = new SectorLayout(weights);
+
+        WheelDetail detail = new WheelDetail();
+        detail.compute(layout, weights.length, 800);
+
+        boolean wide = false;
+        for (int i = 0; i < detail.labelCount; i++) {
+            wide |= layout.sectorOfSlot(detail.labels[i]) == 0;
+        }
+        assertTrue(wide);
+    }
+}
@@ -0,0 +1,95 @@
+package com.skolev.simplewheel.view.custom_views.simple_wheel;
+
+import com.skolev.simplewheel.AllocationMeter;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+public class WheelMetricsTest {
+
+    private static final long FRAME = 16_666_667L;
+
+    @Test
+    public void ring_keepsNewestSamplesInOrder() {
+        MetricsRing ring = new MetricsRing(6);
+        assertEquals(8, ring.getCapacity());
+        for (int i = 1; i <= 20; i++) {
+            ring.add(i);
+        }
+        long[] samples = new long[8];
+        assertEquals(8, ring.copyTo(samples));
+        assertArrayEquals(new long[]{13, 14, 15, 16, 17, 18, 19, 20}, samples);
+
+        long[] few = new long[3];
+        assertEquals(3, ring.copyTo(few));
+        assertArrayEquals(new long[]{18, 19, 20}, few);
+    }
+
+    @Test
+    public void snapshot_reportsNearestRankPercentiles() {
+        WheelMetrics metrics = new WheelMetrics(FRAME);
+        for (int i = 100; i >= 1; i--) {
+            metrics.recordDraw(i * 1000L);
+        }
+        WheelMetrics.Snapshot snapshot = metrics.snapshot(4096);
+
+        assertEquals(100, snapshot.getDrawSamples());
+        assertEquals(50_000, snapshot.getDrawNanos(50));
+        assertEquals(99_000, snapshot.getDrawNanos(99));
+        assertEquals(100_000, snapshot.getDrawNanos(100));
+        assertEquals(1_000, snapshot.getDrawNanos(0));
+        assertEquals(0, snapshot.getTickNanos(50));
+        assertEquals(4096, snapshot.getBitmapBytes());
+    }
+
+    @Test
+    public void frameGaps_countJankOnlyWithinAnAnimation() {
+        WheelMetrics metrics = new WheelMetrics(FRAME);
+        long time = 1_000_000_000L;
+        metrics.recordTick(time, 1);
+        metrics.recordTick(time += FRAME, 1);
+        metrics.recordTick(time += 3 * FRAME, 1);
+        metrics.recordTick(time += FRAME, 1);
+        metrics.endFrames();
+        metrics.recordTick(time + 1_000_000_000L, 1);
+
+        WheelMetrics.Snapshot snapshot = metrics.snapshot(0);
+        assertEquals(3, snapshot.getFrames());
+        assertEquals(1, snapshot.getJankyFrames());
+        assertEquals(2, snapshot.getDroppedFrames());
+        assertEquals(5, snapshot.getTickSamples());
+    }
+
+    @Test
+    public void frameDurations_replaceGapsOnceTheWindowReports() {
+        WheelMetrics metrics = new WheelMetrics(FRAME);
+        metrics.setWindowFrames(true);
+        metrics.recordTick(FRAME, 1);
+        metrics.recordTick(10 * FRAME, 1);
+        metrics.recordFrameDuration(FRAME / 2);
+        metrics.recordFrameDuration(FRAME + 1);
+
+        WheelMetrics.Snapshot snapshot = metrics.snapshot(0);
+        assertEquals(2, snapshot.getFrames());
+        assertEquals(1, snapshot.getJankyFrames());
+        assertEquals(1, snapshot.getDroppedFrames());
+    }
+
+    @Test
+    public void recording_allocatesNothing() {
+        assumeTrue(AllocationMeter.isSupported());
+        WheelMetrics metrics = new WheelMetrics(FRAME);
+        long[] time = {0};
+        assertEquals(0, AllocationMeter.measure(2, 20, () -> {
+            for (int i = 0; i < 500; i++) {
+                metrics.recordTick(time[0] += FRAME, 1_000);
+                metrics.recordDraw(2_000);
+                metrics.recordPrerender(3_000);
+                metrics.recordFrameDuration(FRAME);
+            }
+            metrics.endFrames();
+        }));
+    }
+}
@@ -0,0 +1,49 @@
+package com.skolev.simplewheel.view.custom_views.simple_wheel;
+
+import com.skolev.simplewheel.engine.SectorLayout;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class WheelRendererTest {
+
+    @Test
+    public void inSampleSize_staysAtOrAboveTarget() {
+        assertEquals(1, WheelRenderer.calculateInSampleSize(1000, 1000, 600, 600));
+        assertEquals(2, WheelRenderer.calculateInSampleSize(1200, 1200, 600, 600));
+        assertEquals(4, WheelRenderer.calculateInSampleSize(4096, 4096, 600, 600));
+        assertEquals(2, WheelRenderer.calculateInSampleSize(4096, 1300, 600, 600));
+    }
+
+    @Test
+    public void inSampleSize_neverUpsamples() {
+        assertEquals(1, WheelRenderer.calculateInSampleSize(100, 100, 600, 600));
+        assertEquals(1, WheelRenderer.calculateInSampleSize(100, 100, 0, 0));
+    }
+
+    @Test
+    public void drawnFallback_isKeyedLikeTheDrawnWheelNotTheArtwork() {
+        Wheel wheel = new Wheel(300, 75, 7);
+        Pointer pointer = new Pointer(40, 80);
+        SectorLayout layout = new SectorLayout(new float[]{1f, 2f, 1f, 2f, 1f, 2f, 3f});
+        WheelRenderSpec custom = new WheelRenderSpec(wheel, pointer,
+                WheelAsset.fromResource(1), WheelAsset.fromResource(2),
+                WheelRenderSpec.NUMERIC_LABELS, layout, SimpleWheelView.MEMORY_MODE_DEFAULT, true);
+        WheelRenderSpec drawn = new WheelRenderSpec(wheel, pointer, null, null,
+                WheelRenderSpec.NUMERIC_LABELS, layout, SimpleWheelView.MEMORY_MODE_DEFAULT, true);
+
+        assertEquals(drawn.wheelKey(), custom.drawn().wheelKey());
+        assertEquals(drawn.pointerKey(), custom.drawn().pointerKey());
+        assertNotEquals(custom.wheelKey(), custom.drawn().wheelKey());
+        assertNotEquals(custom.pointerKey(), custom.drawn().pointerKey());
+        assertSame(drawn, drawn.drawn());
+
+        //the artwork key ignores the sectors, the fallbacks of two sector counts stay apart
+        WheelRenderSpec other = new WheelRenderSpec(new Wheel(300, 75, 9), pointer,
+                WheelAsset.fromResource(1), WheelAsset.fromResource(2),
+                WheelRenderSpec.NUMERIC_LABELS, null, SimpleWheelView.MEMORY_MODE_DEFAULT, true);
+        assertEquals(custom.wheelKey(), other.wheelKey());
+        assertNotEquals(custom.drawn().wheelKey(), other.drawn().wheelKey());
+    }
+}
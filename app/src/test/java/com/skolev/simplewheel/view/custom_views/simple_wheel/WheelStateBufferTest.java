@@ -0,0 +1,61 @@
+package com.skolev.simplewheel.view.custom_views.simple_wheel;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class WheelStateBufferTest {
+
+    @Test
+    public void acquire_returnsNewestPublishedState() {
+        WheelStateBuffer buffer = new WheelStateBuffer();
+        assertFalse(buffer.acquire());
+        assertEquals(0, buffer.current().version);
+
+        for (int i = 1; i <= 3; i++) {
+            buffer.edit().rotation = i;
+            buffer.publish();
+        }
+        assertTrue(buffer.acquire());
+        assertEquals(3f, buffer.current().rotation, 0f);
+        assertEquals(3, buffer.current().version);
+        assertFalse(buffer.acquire());
+        assertEquals(3f, buffer.current().rotation, 0f);
+
+        //the writer never gets the slot the reader holds
+        buffer.edit().rotation = 4;
+        assertEquals(3f, buffer.current().rotation, 0f);
+        buffer.publish();
+        assertTrue(buffer.acquire());
+        assertEquals(4f, buffer.current().rotation, 0f);
+    }
+
+    @Test
+    public void concurrentReader_seesWholeStatesInOrder() throws InterruptedException {
+        WheelStateBuffer buffer = new WheelStateBuffer();
+        int states = 200_000;
+        Thread writer = new Thread(() -> {
+            for (int i = 1; i <= states; i++) {
+                WheelStateBuffer.State state = buffer.edit();
+                state.rotation = i;
+                state.pointerAngle = -i;
+                state.wheelLeft = i;
+                buffer.publish();
+            }
+        });
+        writer.start();
+
+        long last = 0;
+        while (last < states) {
+            if (!buffer.acquire()) {
+                continue;
+            }
+            WheelStateBuffer.State state = buffer.current();
+            assertTrue(state.version > last);
+            assertEquals(state.version, state.wheelLeft);
+            assertEquals(state.rotation, -state.pointerAngle, 0f);
+            last = state.version;
+        }
+        writer.join();
+    }
+}
@@ -0,0 +1,77 @@
+package com.skolev.simplewheel.benchmark;
+
+import com.skolev.simplewheel.engine.TouchAngles;
+import com.skolev.simplewheel.engine.WheelEngine;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Touch angle of one move sample, the original acos math against the atan2 and table paths.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AngleBenchmark {
+
+    private static final int POINTS = 1024;
+
+    private final WheelEngine engine = new WheelEngine();
+    private final float[] x = new float[POINTS];
+    private final float[] y = new float[POINTS];
+    private int index;
+
+    @Setup
+    public void setUp() {
+        this.engine.setCenter(540, 540);
+        this.engine.setSectors(12);
+        Random random = new Random(1);
+        for (int i = 0; i < POINTS; i++) {
+            this.x[i] = random.nextFloat() * 1080;
+            this.y[i] = random.nextFloat() * 1080;
+        }
+    }
+
+    private int next() {
+        return this.index = (this.index + 1) & (POINTS - 1);
+    }
+
+    @Benchmark
+    public float calculateAngle() {
+        int i = next();
+        return this.engine.calculateAngle(this.x[i], this.y[i]);
+    }
+
+    @Benchmark
+    public float atan2() {
+        int i = next();
+        return TouchAngles.atan2(this.y[i] - 540, this.x[i] - 540);
+    }
+
+    @Benchmark
+    public float table() {
+        int i = next();
+        return TouchAngles.table(this.y[i] - 540, this.x[i] - 540);
+    }
+
+    //one drag sample as the move handler sees it
+    @Benchmark
+    public float dragStep() {
+        int i = next();
+        return this.engine.dragStep(this.x[i], this.y[i]);
+    }
+}
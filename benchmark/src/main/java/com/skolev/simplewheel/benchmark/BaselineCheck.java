@@ -0,0 +1,107 @@
+package com.skolev.simplewheel.benchmark;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compares a JMH csv result file with the checked in baseline. All benchmarks report average
+ * time, so a score above {@code baseline * tolerance} is a regression. Baselines only compare
+ * on the machine they were recorded on, record a new one with {@code :benchmark:jmh} after an
+ * intended change or on a different box.
+ * <p>
+ * {@code BaselineCheck <baseline.csv> <results.csv> <tolerance>}
+ */
+public final class BaselineCheck {
+
+    private BaselineCheck() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("usage: BaselineCheck <baseline.csv> <results.csv> <tolerance>");
+            System.exit(2);
+        }
+        Map<String, Double> baseline = read(new File(args[0]));
+        Map<String, Double> results = read(new File(args[1]));
+        double tolerance = Double.parseDouble(args[2]);
+
+        int regressions = 0;
+        for (Map.Entry<String, Double> result : results.entrySet()) {
+            Double expected = baseline.get(result.getKey());
+            if (expected == null) {
+                System.out.println(String.format(Locale.US, "%-45s %12.3f   (no baseline)",
+                        result.getKey(), result.getValue()));
+                continue;
+            }
+            double ratio = result.getValue() / expected;
+            boolean regressed = ratio > tolerance;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.println(String.format(Locale.US, "%-45s %12.3f %12.3f %7.2fx%s",
+                    result.getKey(), expected, result.getValue(), ratio, regressed ? "  REGRESSION" : ""));
+        }
+        if (regressions > 0) {
+            System.err.println(regressions + " benchmark(s) slower than " + tolerance + "x their baseline");
+            System.exit(1);
+        }
+    }
+
+    //benchmark name plus its parameters, mapped to the score
+    static Map<String, Double> read(File file) throws IOException {
+        Map<String, Double> scores = new LinkedHashMap<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(file), Charset.forName("UTF-8")))) {
+
+            List<String> header = split(reader.readLine());
+            int score = header.indexOf("Score");
+            int firstParam = header.indexOf("Unit") + 1;
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                List<String> columns = split(line);
+                String name = columns.get(0);
+                StringBuilder key = new StringBuilder(name.substring(name.lastIndexOf('.', name.lastIndexOf('.') - 1) + 1));
+                for (int i = firstParam; i < columns.size(); i++) {
+                    if (!columns.get(i).isEmpty()) {
+                        key.append(' ').append(header.get(i).replace("Param: ", "")).append('=').append(columns.get(i));
+                    }
+                }
+                scores.put(key.toString(), Double.parseDouble(columns.get(score)));
+            }
+        }
+        return scores;
+    }
+
+    //jmh quotes text columns and writes numbers bare
+    static List<String> split(String line) {
+        List<String> columns = new ArrayList<>();
+        StringBuilder column = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ',' && !quoted) {
+                columns.add(column.toString());
+                column.setLength(0);
+            } else {
+                column.append(c);
+            }
+        }
+        columns.add(column.toString());
+        return columns;
+    }
+}
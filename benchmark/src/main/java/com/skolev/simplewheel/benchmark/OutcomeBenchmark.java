@@ -0,0 +1,67 @@
+package com.skolev.simplewheel.benchmark;
+
+import com.skolev.simplewheel.engine.OutcomeSource;
+import com.skolev.simplewheel.engine.OutcomeSources;
+import com.skolev.simplewheel.engine.SectorLayout;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drawing one outcome from each source, and a weighted pick.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OutcomeBenchmark {
+
+    private OutcomeSource fast;
+    private OutcomeSource seeded;
+    private OutcomeSource secure;
+    private SectorLayout layout;
+
+    @Setup
+    public void setUp() {
+        this.fast = OutcomeSources.fast();
+        this.seeded = OutcomeSources.seeded(4);
+        this.secure = OutcomeSources.secure();
+        float[] weights = new float[64];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = 1 + i % 7;
+        }
+        this.layout = new SectorLayout(weights);
+    }
+
+    @Benchmark
+    public int fast() {
+        return this.fast.nextInt(21);
+    }
+
+    @Benchmark
+    public int seeded() {
+        return this.seeded.nextInt(21);
+    }
+
+    @Benchmark
+    public int secure() {
+        return this.secure.nextInt(21);
+    }
+
+    @Benchmark
+    public int weightedPick() {
+        return this.layout.pick(this.seeded);
+    }
+}
@@ -0,0 +1,65 @@
+package com.skolev.simplewheel.benchmark;
+
+import com.skolev.simplewheel.engine.SectorLayout;
+import com.skolev.simplewheel.engine.WheelEngine;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pointer deflection, run once per frame and per drag sample.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PointerBenchmark {
+
+    private static final int ANGLES = 1024;
+
+    @Param({"equal", "weighted"})
+    public String layout;
+
+    private final WheelEngine engine = new WheelEngine();
+    private final float[] angles = new float[ANGLES];
+    private int index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(2);
+        if ("weighted".equals(this.layout)) {
+            float[] weights = new float[24];
+            for (int i = 0; i < weights.length; i++) {
+                weights[i] = 1 + random.nextInt(5);
+            }
+            this.engine.setSectorLayout(new SectorLayout(weights));
+        } else {
+            this.engine.setSectors(24);
+        }
+        this.engine.setPointerDirection(-1);
+        for (int i = 0; i < ANGLES; i++) {
+            this.angles[i] = random.nextFloat() * 360f;
+        }
+    }
+
+    @Benchmark
+    public float updatePointer() {
+        this.index = (this.index + 1) & (ANGLES - 1);
+        this.engine.setRotationAngle(this.angles[this.index]);
+        return this.engine.updatePointer(true);
+    }
+}
@@ -0,0 +1,94 @@
+package com.skolev.simplewheel.benchmark;
+
+import com.skolev.simplewheel.engine.SectorLayout;
+import com.skolev.simplewheel.engine.WheelEngine;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolving angles and touches to sectors, equal sectors against weighted layouts.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SectorBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    @Param({"12", "500"})
+    public int sectors;
+
+    private final WheelEngine equal = new WheelEngine();
+    private final WheelEngine weighted = new WheelEngine();
+    private SectorLayout layout;
+    private final float[] angles = new float[SAMPLES];
+    private final float[] x = new float[SAMPLES];
+    private final float[] y = new float[SAMPLES];
+    private int index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(3);
+        float[] weights = new float[this.sectors];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = 1 + random.nextInt(100);
+        }
+        this.layout = new SectorLayout(weights);
+
+        this.equal.setSectors(this.sectors);
+        this.weighted.setSectorLayout(this.layout);
+        for (WheelEngine engine : new WheelEngine[]{this.equal, this.weighted}) {
+            engine.setCenter(540, 540);
+            engine.setRadii(400, 100);
+            engine.setRotationAngle(123.4f);
+            engine.setWin(this.sectors / 3);
+        }
+        for (int i = 0; i < SAMPLES; i++) {
+            this.angles[i] = random.nextFloat() * 360f;
+            this.x[i] = 140 + random.nextFloat() * 800;
+            this.y[i] = 140 + random.nextFloat() * 800;
+        }
+    }
+
+    private int next() {
+        return this.index = (this.index + 1) & (SAMPLES - 1);
+    }
+
+    @Benchmark
+    public int layoutSlotAt() {
+        return this.layout.slotAt(this.angles[next()]);
+    }
+
+    @Benchmark
+    public int hitTestEqual() {
+        int i = next();
+        return this.equal.hitTest(this.x[i], this.y[i]);
+    }
+
+    @Benchmark
+    public int hitTestWeighted() {
+        int i = next();
+        return this.weighted.hitTest(this.x[i], this.y[i]);
+    }
+
+    @Benchmark
+    public int stopSectorWeighted() {
+        return this.weighted.getStopSector();
+    }
+}
@@ -0,0 +1,75 @@
+package com.skolev.simplewheel.benchmark;
+
+import com.skolev.simplewheel.engine.LandingTrajectory;
+import com.skolev.simplewheel.engine.WheelEngine;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluating the spin curve and a whole engine frame, pointer and sector crossings included.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TrajectoryBenchmark {
+
+    private static final long FRAME = 16_666_667L;
+    private static final long LANDING = 6_000_000_000L;
+
+    private final LandingTrajectory trajectory = new LandingTrajectory();
+    private long elapsed;
+
+    //the curve does not depend on the sector count, only the engine frames do
+    @State(Scope.Thread)
+    public static class Wheel {
+
+        @Param({"12", "500"})
+        public int sectors;
+
+        private final WheelEngine engine = new WheelEngine();
+        private long frameTime;
+
+        @Setup
+        public void setUp() {
+            this.engine.setSectors(this.sectors);
+            this.engine.setDirection(-1);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        this.trajectory.configure(17f, 200f, 1f, 900_000_000L, 2_100_000_000L, 3_000_000_000L, 720f);
+    }
+
+    @Benchmark
+    public float landingAngleAt() {
+        this.elapsed = (this.elapsed + FRAME) % LANDING;
+        return this.trajectory.angleAt(this.elapsed);
+    }
+
+    //one frame of a landing, restarted whenever the wheel comes to rest
+    @Benchmark
+    public int landingFrame(Wheel wheel) {
+        WheelEngine engine = wheel.engine;
+        if (!engine.isAnimating()) {
+            engine.startLanding(wheel.sectors / 2);
+        }
+        wheel.frameTime += FRAME;
+        return engine.step(wheel.frameTime) + engine.getCrossings().getCount();
+    }
+}